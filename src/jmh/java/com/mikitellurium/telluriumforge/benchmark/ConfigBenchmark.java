@@ -0,0 +1,99 @@
+package com.mikitellurium.telluriumforge.benchmark;
+
+import com.mikitellurium.telluriumforge.config.ConfigEntry;
+import com.mikitellurium.telluriumforge.config.TelluriumConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks the {@link TelluriumConfig} file operations and entry lookups
+ * with different numbers of entries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConfigBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int entryCount;
+
+    private Path directory;
+    private TelluriumConfig config;
+    private ConfigEntry<Integer> entry;
+    private String firstKey;
+    private String lastKey;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("telluriumforge-benchmark");
+        config = new TelluriumConfig(directory, "benchmark", TelluriumConfig.Type.COMMON);
+        TelluriumConfig.EntryBuilder builder = config.entryBuilder();
+        for (int i = 0; i < entryCount; i++) {
+            String key = "entry" + i;
+            switch (i % 5) {
+                case 0 -> builder.comment("A boolean entry").define(key, i % 2 == 0);
+                case 1 -> builder.defineInRange(key, i, 0, Integer.MAX_VALUE);
+                case 2 -> builder.define(key, i * 0.5D);
+                case 3 -> builder.define(key, (long) i);
+                default -> builder.define(key, "value" + i);
+            }
+        }
+        entry = builder.defineInRange("benchmark_entry", 5, 0, 10);
+        config.build();
+        firstKey = "entry0";
+        lastKey = "entry" + (entryCount - 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void save() {
+        config.save();
+    }
+
+    @Benchmark
+    public void load() {
+        config.load();
+    }
+
+    @Benchmark
+    public ConfigEntry<?> getEntryFirst() {
+        return config.getEntry(firstKey);
+    }
+
+    @Benchmark
+    public ConfigEntry<?> getEntryLast() {
+        return config.getEntry(lastKey);
+    }
+
+    @Benchmark
+    public ConfigEntry<?> getEntryMissing() {
+        return config.getEntry("missing");
+    }
+
+    @Benchmark
+    public Integer getValue() {
+        return entry.getValue();
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.mikitellurium.telluriumforge.benchmark;
+
+import com.mikitellurium.telluriumforge.util.HitTestGrid;
+import com.mikitellurium.telluriumforge.util.MouseUtils;
+import net.minecraft.client.util.math.Rect2i;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares finding the slot under the mouse with a {@link HitTestGrid} and with
+ * a linear scan of {@link MouseUtils#isAboveArea(double, double, Rect2i)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HitTestBenchmark {
+
+    private static final int MOUSE_POSITIONS = 1024;
+
+    @Param({"36", "300"})
+    private int regionCount;
+
+    private final List<Rect2i> areas = new ArrayList<>();
+    private final HitTestGrid<Rect2i> grid = new HitTestGrid<>(18);
+    private final double[] mouseX = new double[MOUSE_POSITIONS];
+    private final double[] mouseY = new double[MOUSE_POSITIONS];
+    private int mouse = 0;
+
+    @Setup
+    public void setup() {
+        // Slots laid out in rows of 20, like a large container screen
+        for (int i = 0; i < regionCount; i++) {
+            Rect2i area = new Rect2i(8 + (i % 20) * 18, 18 + (i / 20) * 18, 16, 16);
+            areas.add(area);
+            grid.put(area, area);
+        }
+        Random random = new Random(42L);
+        int height = 18 + (regionCount / 20 + 1) * 18;
+        for (int i = 0; i < MOUSE_POSITIONS; i++) {
+            mouseX[i] = random.nextDouble() * 376;
+            mouseY[i] = random.nextDouble() * height;
+        }
+    }
+
+    @Benchmark
+    public Rect2i linearScan() {
+        int index = mouse++ & (MOUSE_POSITIONS - 1);
+        Rect2i found = null;
+        for (Rect2i area : areas) {
+            if (MouseUtils.isAboveArea(mouseX[index], mouseY[index], area)) {
+                found = area;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public Rect2i grid() {
+        int index = mouse++ & (MOUSE_POSITIONS - 1);
+        return grid.find(mouseX[index], mouseY[index]);
+    }
+
+}
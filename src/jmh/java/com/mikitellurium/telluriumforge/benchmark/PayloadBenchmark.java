@@ -0,0 +1,165 @@
+package com.mikitellurium.telluriumforge.benchmark;
+
+import com.mikitellurium.telluriumforge.networking.packet.BlockEntitySyncPayload;
+import com.mikitellurium.telluriumforge.networking.packet.BooleanSyncPayload;
+import com.mikitellurium.telluriumforge.networking.packet.DoubleSyncPayload;
+import com.mikitellurium.telluriumforge.networking.packet.FloatSyncPayload;
+import com.mikitellurium.telluriumforge.networking.packet.IngredientSyncPayload;
+import com.mikitellurium.telluriumforge.networking.packet.IntSyncPayload;
+import com.mikitellurium.telluriumforge.networking.packet.ItemStackSyncPayload;
+import com.mikitellurium.telluriumforge.networking.packet.LongSyncPayload;
+import com.mikitellurium.telluriumforge.networking.packet.StringSyncPayload;
+import com.mikitellurium.telluriumforge.networking.packet.UUIDSyncPayload;
+import io.netty.buffer.Unpooled;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.recipe.Ingredient;
+import net.minecraft.registry.DynamicRegistryManager;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Benchmarks encoding and decoding every {@link BlockEntitySyncPayload} type
+ * with a {@link RegistryByteBuf}.
+ * <p>
+ * The payload classes only define how they are written, so the decoding reads the
+ * same data the way a typical implementation does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PayloadBenchmark {
+
+    private static final CustomPayload.Id<?> ID = BlockEntitySyncPayload.makeId(Identifier.of("benchmark", "payload"));
+    private static final BlockPos POS = new BlockPos(1024, 64, -2048);
+
+    @Param({"boolean", "int", "long", "float", "double", "string", "uuid", "item_stack", "ingredient"})
+    private String type;
+
+    private RegistryByteBuf buf;
+    private BlockEntitySyncPayload<?> payload;
+    private Function<RegistryByteBuf, ?> decoder;
+
+    @Setup
+    public void setup() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+        buf = new RegistryByteBuf(Unpooled.buffer(256), DynamicRegistryManager.of(Registries.REGISTRIES));
+        switch (type) {
+            case "boolean" -> {
+                payload = new BooleanSyncPayload(POS, true) {
+                    @Override
+                    public Id<? extends CustomPayload> getId() {
+                        return ID;
+                    }
+                };
+                decoder = buf -> new Object[]{buf.readBlockPos(), buf.readBoolean()};
+            }
+            case "int" -> {
+                payload = new IntSyncPayload(POS, 123456) {
+                    @Override
+                    public Id<? extends CustomPayload> getId() {
+                        return ID;
+                    }
+                };
+                decoder = buf -> new Object[]{buf.readBlockPos(), buf.readInt()};
+            }
+            case "long" -> {
+                payload = new LongSyncPayload(POS, 123456789012L) {
+                    @Override
+                    public Id<? extends CustomPayload> getId() {
+                        return ID;
+                    }
+                };
+                decoder = buf -> new Object[]{buf.readBlockPos(), buf.readLong()};
+            }
+            case "float" -> {
+                payload = new FloatSyncPayload(POS, 0.75F) {
+                    @Override
+                    public Id<? extends CustomPayload> getId() {
+                        return ID;
+                    }
+                };
+                decoder = buf -> new Object[]{buf.readBlockPos(), buf.readFloat()};
+            }
+            case "double" -> {
+                payload = new DoubleSyncPayload(POS, 0.75D) {
+                    @Override
+                    public Id<? extends CustomPayload> getId() {
+                        return ID;
+                    }
+                };
+                decoder = buf -> new Object[]{buf.readBlockPos(), buf.readDouble()};
+            }
+            case "string" -> {
+                payload = new StringSyncPayload(POS, "telluriumforge:benchmark_value") {
+                    @Override
+                    public Id<? extends CustomPayload> getId() {
+                        return ID;
+                    }
+                };
+                decoder = buf -> new Object[]{buf.readBlockPos(), buf.readString()};
+            }
+            case "uuid" -> {
+                payload = new UUIDSyncPayload(POS, UUID.randomUUID()) {
+                    @Override
+                    public Id<? extends CustomPayload> getId() {
+                        return ID;
+                    }
+                };
+                decoder = buf -> new Object[]{buf.readBlockPos(), buf.readUuid()};
+            }
+            case "item_stack" -> {
+                payload = new ItemStackSyncPayload(POS, new ItemStack(Items.DIAMOND_PICKAXE, 1)) {
+                    @Override
+                    public Id<? extends CustomPayload> getId() {
+                        return ID;
+                    }
+                };
+                decoder = buf -> new Object[]{buf.readBlockPos(), ItemStack.PACKET_CODEC.decode(buf)};
+            }
+            case "ingredient" -> {
+                payload = new IngredientSyncPayload(POS, Ingredient.ofItems(Items.IRON_INGOT, Items.GOLD_INGOT)) {
+                    @Override
+                    public Id<? extends CustomPayload> getId() {
+                        return ID;
+                    }
+                };
+                decoder = buf -> new Object[]{buf.readBlockPos(), Ingredient.PACKET_CODEC.decode(buf)};
+            }
+            default -> throw new IllegalArgumentException("Unknown payload type " + type);
+        }
+        payload.write(buf);
+    }
+
+    @Benchmark
+    public RegistryByteBuf encode() {
+        buf.clear();
+        payload.write(buf);
+        return buf;
+    }
+
+    @Benchmark
+    public Object decode() {
+        buf.readerIndex(0);
+        return decoder.apply(buf);
+    }
+
+}
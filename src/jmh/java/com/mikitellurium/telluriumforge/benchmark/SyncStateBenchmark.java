@@ -0,0 +1,103 @@
+package com.mikitellurium.telluriumforge.benchmark;
+
+import com.mikitellurium.telluriumforge.util.BlockPosSyncState;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link BlockPosSyncState} with a {@code HashMap<BlockPos, Integer>} tracking
+ * the last synced value of every block entity, as done every tick by a syncing mod.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SyncStateBenchmark {
+
+    @Param({"100", "10000"})
+    private int positionCount;
+
+    private BlockPos[] positions;
+    private int[] values;
+    private final BlockPosSyncState.OfInt syncState = new BlockPosSyncState.OfInt();
+    private final Map<BlockPos, Integer> hashMap = new HashMap<>();
+    private int tick = 0;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42L);
+        positions = new BlockPos[positionCount];
+        values = new int[positionCount];
+        for (int i = 0; i < positionCount; i++) {
+            positions[i] = new BlockPos(random.nextInt(1024) - 512, random.nextInt(320) - 64, random.nextInt(1024) - 512);
+            values[i] = random.nextInt(1000);
+            syncState.shouldSend(positions[i], values[i]);
+            hashMap.put(positions[i], values[i]);
+        }
+        checkSentinelValues();
+    }
+
+    /**
+     * Checks that changing a tracked position to the value the trackers use internally
+     * for missing positions is still sent, so the benchmark never measures a broken tracker.
+     */
+    private static void checkSentinelValues() {
+        BlockPosSyncState.OfInt ints = new BlockPosSyncState.OfInt();
+        ints.shouldSend(0L, 5);
+        BlockPosSyncState.OfLong longs = new BlockPosSyncState.OfLong();
+        longs.shouldSend(0L, 5L);
+        BlockPosSyncState.OfDouble doubles = new BlockPosSyncState.OfDouble();
+        doubles.shouldSend(0L, 5.0);
+        double sentinelNaN = Double.longBitsToDouble(0x7FF8DEAD0000BEEFL);
+        if (!ints.shouldSend(0L, Integer.MIN_VALUE) || ints.shouldSend(0L, Integer.MIN_VALUE)
+                || !longs.shouldSend(0L, Long.MIN_VALUE) || longs.shouldSend(0L, Long.MIN_VALUE)
+                || !doubles.shouldSend(0L, sentinelNaN) || doubles.shouldSend(0L, sentinelNaN)) {
+            throw new IllegalStateException("A tracked position changed to the missing value sentinel was not synced");
+        }
+    }
+
+    /**
+     * Changes one in ten values every tick, like block entities that only change sometimes.
+     */
+    private int valueOf(int index) {
+        return index % 10 == tick % 10 ? values[index] + tick : values[index];
+    }
+
+    @Benchmark
+    public int syncState() {
+        tick++;
+        int sent = 0;
+        for (int i = 0; i < positions.length; i++) {
+            if (syncState.shouldSend(positions[i], this.valueOf(i))) {
+                sent++;
+            }
+        }
+        return sent;
+    }
+
+    @Benchmark
+    public int hashMap() {
+        tick++;
+        int sent = 0;
+        for (int i = 0; i < positions.length; i++) {
+            Integer value = this.valueOf(i);
+            if (!Objects.equals(hashMap.put(positions[i], value), value)) {
+                sent++;
+            }
+        }
+        return sent;
+    }
+
+}
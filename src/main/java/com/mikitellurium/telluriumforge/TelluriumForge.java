@@ -1,6 +1,18 @@
 package com.mikitellurium.telluriumforge;
 
+import com.mikitellurium.telluriumforge.command.TelluriumForgeCommand;
+import com.mikitellurium.telluriumforge.event.EventHelper;
+import com.mikitellurium.telluriumforge.metrics.BlockEntityTickProfiler;
+import com.mikitellurium.telluriumforge.metrics.Metrics;
+import com.mikitellurium.telluriumforge.networking.packet.ChunkSyncPayload;
+import com.mikitellurium.telluriumforge.registry.RegistrationProfiler;
+import com.mikitellurium.telluriumforge.util.TelluriumLogger;
+import com.mikitellurium.telluriumforge.util.TickMemo;
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -8,17 +20,43 @@ public class TelluriumForge implements ModInitializer {
 
 	private static final String MOD_ID = "telluriumforge";
     private static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
+	private static final TelluriumLogger LOG = TelluriumLogger.of(LOGGER);
 
 	@Override
 	public void onInitialize() {
+		PayloadTypeRegistry.playS2C().register(ChunkSyncPayload.ID, ChunkSyncPayload.CODEC);
+
+		EventHelper eventHelper = new EventHelper()
+				.addListener(ServerTickEvents.START_SERVER_TICK, EventHelper.Priority.HIGHEST, server -> TickMemo.nextTick())
+				.addListener(CommandRegistrationCallback.EVENT, TelluriumForgeCommand::register)
+				.addListener(ServerLifecycleEvents.SERVER_STARTED, server -> Metrics.startDump())
+				.addListener(ServerLifecycleEvents.SERVER_STOPPING, server -> Metrics.stopDump())
+				.addListener(ServerLifecycleEvents.SERVER_STOPPING, server -> BlockEntityTickProfiler.reset());
+		if (RegistrationProfiler.ENABLED) {
+			eventHelper.addListener(ServerLifecycleEvents.SERVER_STARTING, server -> RegistrationProfiler.logReport());
+		}
+		eventHelper.registerAll();
 	}
 
 	public static String modId() {
 		return MOD_ID;
 	}
 
+	/**
+	 * @return the SLF4J logger of TelluriumForge
+	 */
 	public static Logger logger() {
 		return LOGGER;
 	}
 
+	/**
+	 * Gets the {@link TelluriumLogger} of TelluriumForge, which wraps the same logger as
+	 * {@link #logger()} and adds lazy and asynchronous diagnostic messages.
+	 *
+	 * @return the {@code TelluriumLogger} of TelluriumForge
+	 */
+	public static TelluriumLogger telluriumLogger() {
+		return LOG;
+	}
+
 }
\ No newline at end of file
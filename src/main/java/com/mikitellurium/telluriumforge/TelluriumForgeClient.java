@@ -0,0 +1,43 @@
+package com.mikitellurium.telluriumforge;
+
+import com.mikitellurium.telluriumforge.event.EventHelper;
+import com.mikitellurium.telluriumforge.networking.packet.ChunkSyncPayload;
+import com.mikitellurium.telluriumforge.option.ConfigOption;
+import com.mikitellurium.telluriumforge.registry.RegistrationProfiler;
+import com.mikitellurium.telluriumforge.util.LogUtils;
+import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.util.Identifier;
+
+public class TelluriumForgeClient implements ClientModInitializer {
+
+	@Override
+	public void onInitializeClient() {
+		ClientPlayNetworking.registerGlobalReceiver(ChunkSyncPayload.ID, ChunkSyncPayload::handleClient);
+		ResourceManagerHelper.get(ResourceType.CLIENT_RESOURCES).registerReloadListener(new SimpleSynchronousResourceReloadListener() {
+			@Override
+			public Identifier getFabricId() {
+				return Identifier.of(TelluriumForge.modId(), "config_options");
+			}
+
+			@Override
+			public void reload(ResourceManager manager) {
+				ConfigOption.invalidateAll();
+			}
+		});
+
+		EventHelper eventHelper = new EventHelper()
+				.addListener(ClientTickEvents.END_CLIENT_TICK, client -> LogUtils.flushClientChatMessages());
+		if (RegistrationProfiler.ENABLED) {
+			eventHelper.addListener(ClientLifecycleEvents.CLIENT_STARTED, client -> RegistrationProfiler.logReport());
+		}
+		eventHelper.registerAll();
+	}
+
+}
@@ -0,0 +1,149 @@
+package com.mikitellurium.telluriumforge.command;
+
+import com.mikitellurium.telluriumforge.TelluriumForge;
+import com.mikitellurium.telluriumforge.metrics.BlockEntityTickProfiler;
+import com.mikitellurium.telluriumforge.metrics.Metric;
+import com.mikitellurium.telluriumforge.metrics.Metrics;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.command.CommandRegistryAccess;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The {@code /telluriumforge} command, used to inspect TelluriumForge at runtime.
+ * <ul>
+ *     <li>{@code /telluriumforge metrics} shows the current value of every registered {@link Metrics metric}</li>
+ *     <li>{@code /telluriumforge tickprofile start [sampleInterval]} starts the {@link BlockEntityTickProfiler}</li>
+ *     <li>{@code /telluriumforge tickprofile stop} stops it, keeping the recorded data</li>
+ *     <li>{@code /telluriumforge tickprofile show [count]} shows the most expensive block entity types and chunks</li>
+ *     <li>{@code /telluriumforge tickprofile export} writes the full report as CSV to the game directory</li>
+ * </ul>
+ * All the subcommands require permission level 2.
+ */
+public final class TelluriumForgeCommand {
+
+    private static final int DEFAULT_SAMPLE_INTERVAL = 8;
+    private static final int DEFAULT_SHOWN_ENTRIES = 5;
+    private static final DateTimeFormatter FILE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss", Locale.ROOT);
+
+    private TelluriumForgeCommand() {}
+
+    /**
+     * Registers the command. This is called by TelluriumForge from the command registration event.
+     *
+     * @param dispatcher     The command dispatcher
+     * @param registryAccess The registry access of the commands
+     * @param environment    The environment the commands are registered in
+     */
+    public static void register(CommandDispatcher<ServerCommandSource> dispatcher, CommandRegistryAccess registryAccess,
+                                CommandManager.RegistrationEnvironment environment) {
+        dispatcher.register(CommandManager.literal(TelluriumForge.modId())
+                .requires(source -> source.hasPermissionLevel(2))
+                .then(CommandManager.literal("metrics")
+                        .executes(TelluriumForgeCommand::showMetrics))
+                .then(CommandManager.literal("tickprofile")
+                        .then(CommandManager.literal("start")
+                                .executes(context -> startTickProfile(context, DEFAULT_SAMPLE_INTERVAL))
+                                .then(CommandManager.argument("sampleInterval", IntegerArgumentType.integer(1, BlockEntityTickProfiler.MAX_SAMPLE_INTERVAL))
+                                        .executes(context -> startTickProfile(context, IntegerArgumentType.getInteger(context, "sampleInterval")))))
+                        .then(CommandManager.literal("stop")
+                                .executes(TelluriumForgeCommand::stopTickProfile))
+                        .then(CommandManager.literal("show")
+                                .executes(context -> showTickProfile(context, DEFAULT_SHOWN_ENTRIES))
+                                .then(CommandManager.argument("count", IntegerArgumentType.integer(1, 100))
+                                        .executes(context -> showTickProfile(context, IntegerArgumentType.getInteger(context, "count")))))
+                        .then(CommandManager.literal("export")
+                                .executes(TelluriumForgeCommand::exportTickProfile))));
+    }
+
+    private static int showMetrics(CommandContext<ServerCommandSource> context) {
+        List<Metric> metrics = Metrics.getAll();
+        ServerCommandSource source = context.getSource();
+        if (metrics.isEmpty()) {
+            source.sendFeedback(() -> Text.literal("No metrics registered"), false);
+            return 0;
+        }
+        for (Metric metric : metrics) {
+            Text line = Text.literal(metric.getName() + ": ").formatted(Formatting.GRAY)
+                    .append(Text.literal(metric.describe()).formatted(Formatting.WHITE));
+            source.sendFeedback(() -> line, false);
+        }
+        return metrics.size();
+    }
+
+    private static int startTickProfile(CommandContext<ServerCommandSource> context, int sampleInterval) {
+        BlockEntityTickProfiler.start(context.getSource().getServer().getTicks(), sampleInterval);
+        context.getSource().sendFeedback(() -> Text.literal("Started block entity tick profiler, sampling 1 tick out of "
+                + Integer.highestOneBit(sampleInterval * 2 - 1)), true);
+        return 1;
+    }
+
+    private static int stopTickProfile(CommandContext<ServerCommandSource> context) {
+        if (!BlockEntityTickProfiler.isRunning()) {
+            context.getSource().sendError(Text.literal("The block entity tick profiler isn't running"));
+            return 0;
+        }
+        BlockEntityTickProfiler.stop(context.getSource().getServer().getTicks());
+        context.getSource().sendFeedback(() -> Text.literal("Stopped block entity tick profiler"), true);
+        return 1;
+    }
+
+    private static int showTickProfile(CommandContext<ServerCommandSource> context, int count) {
+        ServerCommandSource source = context.getSource();
+        BlockEntityTickProfiler.Report report = BlockEntityTickProfiler.report(source.getServer().getTicks(), count);
+        if (report.types().isEmpty()) {
+            source.sendError(Text.literal("No block entity ticks recorded"));
+            return 0;
+        }
+        source.sendFeedback(() -> Text.literal("Block entity ticks over " + report.ticks() + " server ticks:")
+                .formatted(Formatting.GOLD), false);
+        source.sendFeedback(() -> Text.literal("Types").formatted(Formatting.YELLOW), false);
+        sendEntries(source, report, report.types());
+        source.sendFeedback(() -> Text.literal("Chunks").formatted(Formatting.YELLOW), false);
+        sendEntries(source, report, report.chunks());
+        return report.types().size();
+    }
+
+    private static void sendEntries(ServerCommandSource source, BlockEntityTickProfiler.Report report,
+                                    List<BlockEntityTickProfiler.Entry> entries) {
+        for (BlockEntityTickProfiler.Entry entry : entries) {
+            Text line = Text.literal("  " + entry.name() + ": ").formatted(Formatting.GRAY)
+                    .append(Text.literal(String.format(Locale.ROOT, "%.3f ms/t, mean %.1f \u00b5s, max %.1f \u00b5s",
+                            report.millisPerTick(entry), entry.meanNanos() / 1000.0, entry.maxNanos() / 1000.0))
+                            .formatted(Formatting.WHITE));
+            source.sendFeedback(() -> line, false);
+        }
+    }
+
+    private static int exportTickProfile(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+        BlockEntityTickProfiler.Report report = BlockEntityTickProfiler.report(source.getServer().getTicks(), Integer.MAX_VALUE);
+        Path file = FabricLoader.getInstance().getGameDir()
+                .resolve("telluriumforge-tickprofile-" + LocalDateTime.now().format(FILE_TIME_FORMAT) + ".csv");
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            report.exportCsv(writer);
+        } catch (IOException e) {
+            TelluriumForge.telluriumLogger().error("Failed to export block entity tick profile to {}", file, e);
+            source.sendError(Text.literal("Failed to export the tick profile, see the log for details"));
+            return 0;
+        }
+        source.sendFeedback(() -> Text.literal("Exported tick profile to " + file.getFileName()), false);
+        return 1;
+    }
+
+}
@@ -2,6 +2,8 @@ package com.mikitellurium.telluriumforge.config;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * An object used to save a config value in a
@@ -15,6 +17,7 @@ public class ConfigEntry<T> {
 
     private final TelluriumConfig builder;
     private final List<String> comments = new ArrayList<>();
+    private final List<Consumer<T>> changeListeners = new ArrayList<>();
     private final String key;
     private final T defaultValue;
     private T value;
@@ -63,10 +66,41 @@ public class ConfigEntry<T> {
      * If this is called during the execution of the game, call
      * {@link TelluriumConfig#save()} before the game close to save the
      * new value to the config file.
+     * <p>
+     * If the loaded value changes the listeners added with
+     * {@link #addChangeListener} are notified.
      * @param value the new value
      */
     public void setValue(T value) {
+        T previous = this.getValue();
         this.value = value;
+        T current = this.getValue();
+        if (!Objects.equals(previous, current)) {
+            for (Consumer<T> listener : changeListeners) {
+                listener.accept(current);
+            }
+        }
+    }
+
+    /**
+     * Add a listener that is notified every time the loaded
+     * value of this entry changes.
+     * @param listener the listener that receives the new value
+     * @return the config entry the listener was added to
+     */
+    public ConfigEntry<T> addChangeListener(Consumer<T> listener) {
+        this.changeListeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Remove a listener added with {@link #addChangeListener}.
+     * @param listener the listener to remove
+     * @return the config entry the listener was removed from
+     */
+    public ConfigEntry<T> removeChangeListener(Consumer<T> listener) {
+        this.changeListeners.remove(listener);
+        return this;
     }
 
     /**
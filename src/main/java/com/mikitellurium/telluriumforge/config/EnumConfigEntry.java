@@ -1,5 +1,7 @@
 package com.mikitellurium.telluriumforge.config;
 
+import com.mikitellurium.telluriumforge.util.EnumLookup;
+
 /**
  * An object used to save a config value that use
  * an enum. To make a new entry see the
@@ -20,12 +22,13 @@ public class EnumConfigEntry<E extends Enum<E>> extends ConfigEntry<E> {
     /**
      * Sets the value of the {@code EnumConfigEntry} based
      * on the provided string. The string should match the
-     * name of one of the enum constants.
+     * name of one of the enum constants, ignoring case.
      *
      * @param text The string representation of the enum value
+     * @throws IllegalArgumentException if the enum has no constant with the name
      */
     public void setValueFromString(String text) {
-        E value = E.valueOf(this.getEnumClass(), text);
+        E value = EnumLookup.of(this.getEnumClass()).getOrThrow(text);
         this.setValue(value);
     }
 
@@ -1,10 +1,12 @@
 package com.mikitellurium.telluriumforge.config;
 
+import com.mikitellurium.telluriumforge.metrics.Histogram;
+import com.mikitellurium.telluriumforge.metrics.Metrics;
+import com.mikitellurium.telluriumforge.util.TelluriumLogger;
 import net.fabricmc.loader.api.FabricLoader;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
@@ -17,8 +19,10 @@ import java.util.Scanner;
 public class TelluriumConfig {
 
     private static final String fileExtension = ".properties";
+    private static final Histogram SAVE_NANOS = Metrics.histogram("telluriumforge_config_save_nanos", "Time spent writing config files");
+    private static final Histogram LOAD_NANOS = Metrics.histogram("telluriumforge_config_load_nanos", "Time spent reading config files");
 
-    private final Logger logger;
+    private final TelluriumLogger logger;
     /**
      * The path of the config file.
      */
@@ -45,9 +49,21 @@ public class TelluriumConfig {
      * @param type the type of the config file
      */
     public TelluriumConfig(String fileName, Type type) {
-        this.file = FabricLoader.getInstance().getConfigDir().resolve(fileName + "-" + type.getName() + fileExtension).toString();
+        this(FabricLoader.getInstance().getConfigDir(), fileName, type);
+    }
+
+    /**
+     * Constructs a new {@code TelluriumConfig} instance that keeps
+     * its file in the specified directory instead of the game
+     * config directory.
+     * @param directory the directory of the config file
+     * @param fileName the name of the config file
+     * @param type the type of the config file
+     */
+    public TelluriumConfig(Path directory, String fileName, Type type) {
+        this.file = directory.resolve(fileName + "-" + type.getName() + fileExtension).toString();
         this.type = type;
-        this.logger = LoggerFactory.getLogger(fileName);
+        this.logger = TelluriumLogger.of(fileName);
     }
 
     /**
@@ -148,6 +164,7 @@ public class TelluriumConfig {
      * are changed during the execution of the game.
      */
     public void save() {
+        long start = System.nanoTime();
         try {
             FileWriter writer = new FileWriter(file);
             final String newline = System.lineSeparator(); // Wrap text
@@ -199,25 +216,28 @@ public class TelluriumConfig {
             writer.flush();
             writer.close();
         } catch (IOException e) {
-            logger.error("Something went wrong when trying to write config file \"" + this.getConfigFilePath() + "\"");
-            e.printStackTrace();
+            logger.error("Something went wrong when trying to write config file \"{}\"", this.getConfigFilePath(), e);
         }
+        SAVE_NANOS.record(System.nanoTime() - start);
     }
 
     /**
-     * Loads all values from the config file
+     * Loads all values from the config file.
+     * <p>
+     * This is automatically called from the {@link TelluriumConfig#build()} method
+     * if the file exists, but can also be called individually to reload the values
+     * after the file was changed.
      */
-    private void load() {
-        try {
-            File file = new File(this.file);
-            Scanner reader = new Scanner(file);
+    public void load() {
+        long start = System.nanoTime();
+        try (Scanner reader = new Scanner(new File(this.file))) {
             for (int line = 1; reader.hasNextLine(); line++) {
                 parseConfigEntry(reader.nextLine(), line);
             }
         } catch (IOException e) {
-            logger.error("Something went wrong when trying to read config file \"" + this.getConfigFilePath() + "\"");
-            e.printStackTrace();
+            logger.error("Something went wrong when trying to read config file \"{}\"", this.getConfigFilePath(), e);
         }
+        LOAD_NANOS.record(System.nanoTime() - start);
     }
 
     /**
@@ -248,20 +268,20 @@ public class TelluriumConfig {
                             case "String" -> configEntry.setValue(String.valueOf(valueString));
                             default -> { // Handle unsupported types
                                 configEntry.setValue(configEntry.getDefaultValue());
-                                logger.error("Unsupported value type for entry \"" + configEntry.getKey() + "\". Loaded default value.");
+                                logger.error("Unsupported value type for entry \"{}\". Loaded default value.", configEntry.getKey());
                             }
                         }
                     } catch (IllegalArgumentException e) {
                         configEntry.setValue(configEntry.getDefaultValue());
-                        logger.error("Invalid value for entry \"" + configEntry.getKey() + "\". Loaded default value.");
+                        logger.error("Invalid value for entry \"{}\". Loaded default value.", configEntry.getKey());
                     }
 
                 } else {
-                    logger.error("Unknown entry found: \"" + entryParts[0] + "\" in config file \"" + this.getConfigFilePath() + "\" at line " + line + ". Removing it.");
+                    logger.error("Unknown entry found: \"{}\" in config file \"{}\" at line {}. Removing it.", entryParts[0], this.getConfigFilePath(), line);
                 }
 
             } else {
-                logger.error("Unknown entry found: \"" + entryParts[0] + "\" in config file \"" + this.getConfigFilePath() + "\" at line " + line + ". Removing it.");
+                logger.error("Unknown entry found: \"{}\" in config file \"{}\" at line {}. Removing it.", entryParts[0], this.getConfigFilePath(), line);
             }
         }
     }
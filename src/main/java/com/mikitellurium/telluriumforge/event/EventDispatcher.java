@@ -0,0 +1,326 @@
+package com.mikitellurium.telluriumforge.event;
+
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.event.Event;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.util.Identifier;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Dispatches the compiled listeners of a single event phase.
+ * <p>
+ * The event only holds one invoker that calls the listener stored in a single element
+ * array. Every time the set of active listeners changes, because a condition changed, a
+ * listener was unregistered or a one-shot listener ran, a new invoker for the active
+ * listeners is built and swapped into the array, so inactive listeners are never called.
+ * <p>
+ * Throttled and scoped listeners are grouped by priority, interval and scope in buckets.
+ * Each bucket has its own array that is swapped between the bucket listeners and an empty
+ * invoker, once per tick for throttled buckets and once when the scope is closed for scoped
+ * buckets. Throttled buckets of client events, whose listener type is in a {@code client}
+ * package, follow the client ticks, every other throttled bucket follows the server ticks.
+ * <p>
+ * Listeners can be unregistered and conditions can change on any thread, such as the render
+ * thread when a config is changed from an options screen. The listeners and buckets are only
+ * changed while holding the dispatcher lock, and the invokers are published with release
+ * semantics so the thread that fires the event sees a fully built invoker.
+ *
+ * @param <T> The type of event
+ */
+final class EventDispatcher<T> {
+
+    /**
+     * Writes the slot arrays, whose runtime type is an array of the listener type.
+     */
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private final ListenerCompiler<T> compiler;
+    private final T empty;
+    private final T[] root;
+    /**
+     * The listeners and buckets of this dispatcher, in priority order.
+     */
+    private final List<Object> units = new ArrayList<>();
+
+    EventDispatcher(ListenerCompiler<T> compiler) {
+        this.compiler = compiler;
+        this.empty = compiler.compile(List.of());
+        this.root = compiler.slot(empty);
+    }
+
+    /**
+     * Adds a listener to this dispatcher. Listeners must be added in priority order.
+     *
+     * @param listener  The listener
+     * @param priority  The priority of the listener
+     * @param interval  The number of ticks between invocations, or {@code 1} to always invoke it
+     * @param condition The condition that must be true for the listener to be invoked, or {@code null}
+     * @param scope     The scope of the listener, or {@code null}
+     * @return The entry of the listener
+     */
+    synchronized Entry<T> add(T listener, EventHelper.Priority priority, int interval, BooleanSupplier condition, ListenerScope scope) {
+        Entry<T> entry = new Entry<>(this, listener, condition);
+        if (scope != null && scope.isClosed()) {
+            entry.removed = true;
+            return entry;
+        } else if (interval <= 1 && scope == null) {
+            units.add(entry);
+            return entry;
+        }
+
+        Bucket<T> bucket = null;
+        for (Object unit : units) {
+            if (unit instanceof Bucket<?> candidate && candidate.priority == priority
+                    && candidate.interval == interval && candidate.scope == scope) {
+                bucket = castBucket(candidate);
+            }
+        }
+        if (bucket == null) {
+            TickSource source = interval > 1 ? TickSource.of(compiler.type()) : null;
+            bucket = new Bucket<>(this, priority, interval, source, scope);
+            units.add(bucket);
+            if (source != null) {
+                source.add(bucket);
+            }
+            if (scope != null) {
+                scope.add(bucket);
+            }
+        }
+        if (bucket.closed) {
+            entry.removed = true;
+        } else {
+            bucket.entries.add(entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Rebuilds the invokers and registers this dispatcher to the specified event phase.
+     */
+    synchronized void register(Event<T> event, Identifier phase) {
+        rebuild();
+        event.register(phase, compiler.delegate(root));
+    }
+
+    /**
+     * Rebuilds the invoker of the active listeners and swaps it in.
+     */
+    synchronized void rebuild() {
+        List<T> active = new ArrayList<>(units.size());
+        units.removeIf(unit -> unit instanceof Bucket<?> bucket && bucket.closed);
+        for (Object unit : units) {
+            if (unit instanceof Entry<?> entry) {
+                if (entry.isActive()) {
+                    active.add(castEntry(entry).listener);
+                }
+            } else {
+                Bucket<T> bucket = castBucket((Bucket<?>) unit);
+                if (bucket.rebuild()) {
+                    active.add(bucket.invoker);
+                }
+            }
+        }
+        publish(root, switch (active.size()) {
+            case 0 -> empty;
+            case 1 -> active.get(0);
+            default -> compiler.compile(active);
+        });
+    }
+
+    /**
+     * Stores an invoker in a slot with release semantics.
+     */
+    private static <T> void publish(T[] slot, T invoker) {
+        SLOT.setRelease((Object[]) slot, 0, (Object) invoker);
+    }
+
+    /**
+     * Wraps a one-shot listener so that it is removed from this dispatcher the first time it runs.
+     */
+    T oneShot(Entry<T> entry) {
+        return OneShotListener.wrap(compiler.type(), entry.listener, entry::unregister);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Entry<T> castEntry(Entry<?> entry) {
+        return (Entry<T>) entry;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Bucket<T> castBucket(Bucket<?> bucket) {
+        return (Bucket<T>) bucket;
+    }
+
+    /**
+     * Counts the ticks of one side and updates the throttled buckets that follow them.
+     */
+    private static final class TickSource {
+
+        private static final TickSource SERVER = new TickSource(false);
+        private static final TickSource CLIENT = new TickSource(true);
+
+        private final boolean client;
+        private final List<Bucket<?>> buckets = new CopyOnWriteArrayList<>();
+        private volatile long tick = 0L;
+        private boolean hookRegistered = false;
+
+        private TickSource(boolean client) {
+            this.client = client;
+        }
+
+        /**
+         * Gets the tick source that matches the side an event is fired on.
+         */
+        private static TickSource of(Class<?> listenerType) {
+            return listenerType.getName().contains(".client.") ? CLIENT : SERVER;
+        }
+
+        private synchronized void add(Bucket<?> bucket) {
+            buckets.add(bucket);
+            if (!hookRegistered) {
+                hookRegistered = true;
+                // Client events are only fired on the client, so the client tick event is always available here
+                if (client) {
+                    ClientTickEvents.START_CLIENT_TICK.register(minecraft -> this.advance());
+                } else {
+                    ServerTickEvents.START_SERVER_TICK.register(server -> this.advance());
+                }
+            }
+        }
+
+        private int nextOffset(int interval) {
+            return buckets.size() % interval;
+        }
+
+        private void advance() {
+            long current = ++tick;
+            for (Bucket<?> bucket : buckets) {
+                bucket.tick(current);
+            }
+        }
+
+    }
+
+    /**
+     * A single listener of a dispatcher.
+     */
+    static final class Entry<T> implements ListenerHandle {
+
+        private final EventDispatcher<T> dispatcher;
+        private final BooleanSupplier condition;
+        private volatile T listener;
+        private volatile boolean removed = false;
+
+        private Entry(EventDispatcher<T> dispatcher, T listener, BooleanSupplier condition) {
+            this.dispatcher = dispatcher;
+            this.listener = listener;
+            this.condition = condition;
+        }
+
+        void setListener(T listener) {
+            this.listener = listener;
+        }
+
+        private boolean isActive() {
+            return !removed && (condition == null || condition.getAsBoolean());
+        }
+
+        @Override
+        public boolean isRegistered() {
+            return !removed;
+        }
+
+        @Override
+        public void unregister() {
+            synchronized (dispatcher) {
+                if (!removed) {
+                    removed = true;
+                    dispatcher.rebuild();
+                }
+            }
+        }
+
+    }
+
+    /**
+     * The throttled or scoped listeners of a dispatcher with the same priority, interval and scope.
+     */
+    static final class Bucket<T> {
+
+        private final EventDispatcher<T> dispatcher;
+        private final EventHelper.Priority priority;
+        private final int interval;
+        private final int offset;
+        private final TickSource source;
+        private final ListenerScope scope;
+        private final List<Entry<T>> entries = new ArrayList<>();
+        private final T[] slot;
+        private final T invoker;
+        private volatile T compiled;
+        private volatile boolean closed = false;
+
+        /**
+         * @param source The ticks followed by the bucket, or {@code null} if it isn't throttled
+         */
+        private Bucket(EventDispatcher<T> dispatcher, EventHelper.Priority priority, int interval, TickSource source, ListenerScope scope) {
+            this.dispatcher = dispatcher;
+            this.priority = priority;
+            this.interval = interval;
+            this.offset = source != null ? source.nextOffset(interval) : 0;
+            this.source = source;
+            this.scope = scope;
+            this.compiled = dispatcher.empty;
+            this.slot = dispatcher.compiler.slot(dispatcher.empty);
+            this.invoker = dispatcher.compiler.delegate(slot);
+        }
+
+        /**
+         * Rebuilds the invoker of the active listeners of this bucket.
+         * Only called by the dispatcher while holding its lock.
+         *
+         * @return true if the bucket has any active listener
+         */
+        private boolean rebuild() {
+            List<T> active = new ArrayList<>(entries.size());
+            for (Entry<T> entry : entries) {
+                if (entry.isActive()) {
+                    active.add(entry.listener);
+                }
+            }
+            compiled = active.isEmpty() ? dispatcher.empty : dispatcher.compiler.compile(active);
+            tick(source != null ? source.tick : 0L);
+            return !active.isEmpty();
+        }
+
+        private void tick(long tick) {
+            // Locked so a tick can't publish an invoker older than a concurrent rebuild
+            synchronized (dispatcher) {
+                publish(slot, !closed && tick % interval == offset ? compiled : dispatcher.empty);
+            }
+        }
+
+        /**
+         * Swaps out the listeners of this bucket and releases them.
+         */
+        void close() {
+            synchronized (dispatcher) {
+                closed = true;
+                compiled = dispatcher.empty;
+                publish(slot, dispatcher.empty);
+                entries.forEach(entry -> entry.removed = true);
+                entries.clear();
+            }
+            if (source != null) {
+                source.buckets.remove(this);
+            }
+        }
+
+    }
+
+}
@@ -1,13 +1,39 @@
 package com.mikitellurium.telluriumforge.event;
 
+import com.mikitellurium.telluriumforge.config.ConfigEntry;
 import net.fabricmc.fabric.api.event.Event;
+import net.minecraft.util.Identifier;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * The {@code EventHelper} class provides a simple utility for registering
  * listeners associated with various events.
+ * <p>
+ * Listeners can be given a {@link Priority} and a Fabric event phase. When
+ * {@link #registerAll()} is called the listeners of each event phase are registered in
+ * priority order, and listeners of the same priority keep the order they were added in.
+ * <p>
+ * Events that are invoked very often, like tick or render events, can be compiled with
+ * {@link #compile}: all the listeners of the same event phase are then merged into a
+ * single invoker backed by a flat array, so the event only calls one listener.
+ * <pre>{@code
+ * new EventHelper()
+ *         .compile(ServerTickEvents.END_SERVER_TICK, ServerTickEvents.EndTick.class, listeners -> server -> {
+ *             for (ServerTickEvents.EndTick listener : listeners) {
+ *                 listener.onEndTick(server);
+ *             }
+ *         })
+ *         .addListener(ServerTickEvents.END_SERVER_TICK, EventHelper.Priority.HIGH, server -> updateMachines(server))
+ *         .addListener(ServerTickEvents.END_SERVER_TICK, server -> updateNetworks(server))
+ *         .registerAll();
+ * }</pre>
  */
 public class EventHelper {
 
@@ -15,6 +41,18 @@ public class EventHelper {
      * The list of event registrations managed by this {@code EventHelper} instance.
      */
     private final List<EventRegistration<?>> events = new ArrayList<>();
+    /**
+     * The invoker factories of the events whose listeners are merged in a single invoker.
+     */
+    private final Map<Event<?>, ListenerCompiler<?>> compilers = new IdentityHashMap<>();
+    /**
+     * The profiler applied to the listeners, or {@code null} if they are not profiled.
+     */
+    private ListenerProfiler profiler = null;
+    /**
+     * The scope of the listeners added from now on, or {@code null} if they are not scoped.
+     */
+    private ListenerScope scope = null;
 
     public EventHelper() {}
 
@@ -27,16 +65,246 @@ public class EventHelper {
      * @return The current {@code EventHelper} instance for method chaining
      */
     public <T> EventHelper addListener(Event<T> event, T listener) {
-        events.add(new EventRegistration<>(event, listener));
+        return addListener(event, Event.DEFAULT_PHASE, Priority.NORMAL, listener);
+    }
+
+    /**
+     * Adds a listener with the specified priority for a specific event.
+     *
+     * @param <T>      The type of event
+     * @param event    The event to which the listener is added
+     * @param priority The priority of the listener
+     * @param listener The listener to be added
+     * @return The current {@code EventHelper} instance for method chaining
+     */
+    public <T> EventHelper addListener(Event<T> event, Priority priority, T listener) {
+        return addListener(event, Event.DEFAULT_PHASE, priority, listener);
+    }
+
+    /**
+     * Adds a listener for a specific phase of an event.
+     *
+     * @param <T>      The type of event
+     * @param event    The event to which the listener is added
+     * @param phase    The event phase the listener is registered to
+     * @param listener The listener to be added
+     * @return The current {@code EventHelper} instance for method chaining
+     */
+    public <T> EventHelper addListener(Event<T> event, Identifier phase, T listener) {
+        return addListener(event, phase, Priority.NORMAL, listener);
+    }
+
+    /**
+     * Adds a listener with the specified priority for a specific phase of an event.
+     *
+     * @param <T>      The type of event
+     * @param event    The event to which the listener is added
+     * @param phase    The event phase the listener is registered to
+     * @param priority The priority of the listener
+     * @param listener The listener to be added
+     * @return The current {@code EventHelper} instance for method chaining
+     */
+    public <T> EventHelper addListener(Event<T> event, Identifier phase, Priority priority, T listener) {
+        events.add(new EventRegistration<>(event, phase, priority, listener, 1, null, false, scope, null));
+        return this;
+    }
+
+    /**
+     * Adds a listener for a specific event and returns a handle that can
+     * remove it after it was registered. The event must be {@link #compile compiled}.
+     *
+     * @param <T>      The type of event
+     * @param event    The event to which the listener is added
+     * @param listener The listener to be added
+     * @return The handle of the listener
+     */
+    public <T> ListenerHandle addRemovableListener(Event<T> event, T listener) {
+        PendingHandle handle = new PendingHandle();
+        events.add(new EventRegistration<>(event, Event.DEFAULT_PHASE, Priority.NORMAL, listener, 1, null, false, scope, handle));
+        return handle;
+    }
+
+    /**
+     * Adds all the listeners added after this call to the specified scope, until this is
+     * called again. When the scope is closed all its listeners are removed from their events.
+     * Scoped events must be {@link #compile compiled}.
+     *
+     * @param scope The scope of the next listeners, or {@code null} to stop scoping them
+     * @return The current {@code EventHelper} instance for method chaining
+     */
+    public EventHelper inScope(ListenerScope scope) {
+        this.scope = scope;
+        return this;
+    }
+
+    /**
+     * Adds a listener that is only invoked while the specified config entry is {@code true}.
+     * <p>
+     * While the entry is {@code false} the listener is removed from the event invoker, and it is
+     * added back as soon as the value of the entry changes. The event must be {@link #compile compiled}.
+     *
+     * @param <T>       The type of event
+     * @param condition The config entry that enables the listener
+     * @param event     The event to which the listener is added
+     * @param listener  The listener to be added
+     * @return The current {@code EventHelper} instance for method chaining
+     */
+    public <T> EventHelper addListenerWhen(ConfigEntry<Boolean> condition, Event<T> event, T listener) {
+        events.add(new EventRegistration<>(event, Event.DEFAULT_PHASE, Priority.NORMAL, listener, 1, condition, false, scope, null));
+        return this;
+    }
+
+    /**
+     * Adds a listener that is only invoked once every {@code interval} ticks.
+     * <p>
+     * On the other ticks the listener is swapped out of the event invoker, so it isn't
+     * called at all. Throttled listeners with the same priority and interval are invoked on
+     * the same tick. Listeners of client events, whose listener type is in a {@code client}
+     * package such as {@code ClientTickEvents}, follow the client ticks, listeners of every
+     * other event follow the server ticks. The event must be {@link #compile compiled}.
+     *
+     * @param <T>      The type of event
+     * @param event    The event to which the listener is added
+     * @param interval The number of ticks between invocations
+     * @param listener The listener to be added
+     * @return The current {@code EventHelper} instance for method chaining
+     */
+    public <T> EventHelper addThrottledListener(Event<T> event, int interval, T listener) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Interval must be at least 1 tick");
+        }
+        events.add(new EventRegistration<>(event, Event.DEFAULT_PHASE, Priority.NORMAL, listener, interval, null, false, scope, null));
+        return this;
+    }
+
+    /**
+     * Adds a listener that is removed from the event after its first invocation.
+     * The event must be {@link #compile compiled}.
+     *
+     * @param <T>      The type of event
+     * @param event    The event to which the listener is added
+     * @param listener The listener to be added
+     * @return The current {@code EventHelper} instance for method chaining
+     */
+    public <T> EventHelper addOneShot(Event<T> event, T listener) {
+        events.add(new EventRegistration<>(event, Event.DEFAULT_PHASE, Priority.NORMAL, listener, 1, null, true, scope, null));
+        return this;
+    }
+
+    /**
+     * Merges all the listeners added to the specified event into a single invoker
+     * when they are registered.
+     * <p>
+     * The invoker factory receives the listeners of an event phase sorted by priority
+     * and must return a listener that calls all of them, iterating the array directly.
+     *
+     * @param <T>            The type of event
+     * @param event          The event whose listeners are merged
+     * @param type           The listener type of the event
+     * @param invokerFactory Creates the invoker that calls all the listeners in the array
+     * @return The current {@code EventHelper} instance for method chaining
+     */
+    public <T> EventHelper compile(Event<T> event, Class<T> type, Function<T[], T> invokerFactory) {
+        compilers.put(event, new ListenerCompiler<>(type, invokerFactory));
+        return this;
+    }
+
+    /**
+     * Records the invocations of every listener added to this {@code EventHelper}
+     * with the specified profiler. The listeners are wrapped when {@link #registerAll()}
+     * is called.
+     *
+     * @param profiler The profiler that records the listeners invocations
+     * @return The current {@code EventHelper} instance for method chaining
+     */
+    public EventHelper profile(ListenerProfiler profiler) {
+        this.profiler = profiler;
         return this;
     }
 
     /**
      * Registers all the added event listeners and clears the list of registered events.
+     *
+     * @throws IllegalStateException if a conditional, throttled, one-shot, scoped or removable
+     *                               listener was added to an event that isn't compiled
      */
     public void registerAll() {
-        this.events.forEach(EventRegistration::register);
+        Map<EventPhase, List<EventRegistration<?>>> phases = new LinkedHashMap<>();
+        this.events.stream()
+                .sorted(Comparator.comparing(EventRegistration::priority))
+                .forEach(registration -> phases.computeIfAbsent(registration.eventPhase(), key -> new ArrayList<>()).add(registration));
+
+        phases.forEach((phase, registrations) -> {
+            ListenerCompiler<?> compiler = compilers.get(phase.event());
+            boolean gated = registrations.stream().anyMatch(EventRegistration::isGated);
+            if (gated && compiler == null) {
+                throw new IllegalStateException("Conditional, throttled, one-shot, scoped and removable listeners require the event to be compiled");
+            } else if (gated) {
+                registerDispatcher(phase, registrations, compiler);
+            } else if (compiler == null || registrations.size() == 1) {
+                registrations.forEach(registration -> registration.register(profiler, compiler));
+            } else {
+                registerCompiled(phase, registrations, compiler);
+            }
+        });
+
         this.events.clear();
+        this.compilers.clear();
+        this.profiler = null;
+        this.scope = null;
+    }
+
+    /**
+     * Merges the listeners of the specified registrations and registers the invoker to the event phase.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> void registerCompiled(EventPhase phase, List<EventRegistration<?>> registrations, ListenerCompiler<T> compiler) {
+        List<T> listeners = new ArrayList<>(registrations.size());
+        for (EventRegistration<?> registration : registrations) {
+            listeners.add(((EventRegistration<T>) registration).listener(profiler, compiler.type()));
+        }
+        ((Event<T>) phase.event()).register(phase.phase(), compiler.compile(listeners));
+    }
+
+    /**
+     * Registers the listeners of the specified registrations through an {@link EventDispatcher},
+     * so they can be activated and deactivated after registration.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> void registerDispatcher(EventPhase phase, List<EventRegistration<?>> registrations, ListenerCompiler<T> compiler) {
+        EventDispatcher<T> dispatcher = new EventDispatcher<>(compiler);
+        for (EventRegistration<?> wildcard : registrations) {
+            EventRegistration<T> registration = (EventRegistration<T>) wildcard;
+            ConfigEntry<Boolean> condition = registration.condition();
+            if (registration.handle() != null && !registration.handle().isRegistered()) {
+                continue;
+            }
+            EventDispatcher.Entry<T> entry = dispatcher.add(registration.listener(profiler, compiler.type()),
+                    registration.priority(), registration.interval(), condition == null ? null : condition::getValue,
+                    registration.scope());
+            if (registration.handle() != null) {
+                registration.handle().bind(entry);
+            }
+            if (registration.oneShot()) {
+                entry.setListener(dispatcher.oneShot(entry));
+            }
+            if (condition != null) {
+                condition.addChangeListener(value -> dispatcher.rebuild());
+            }
+        }
+        dispatcher.register((Event<T>) phase.event(), phase.phase());
+    }
+
+    /**
+     * The priority of a listener. Listeners with a higher priority are
+     * registered, and so invoked, before the others of the same event phase.
+     */
+    public enum Priority {
+        HIGHEST,
+        HIGH,
+        NORMAL,
+        LOW,
+        LOWEST
     }
 
     /**
@@ -44,16 +312,73 @@ public class EventHelper {
      *
      * @param <T> The type of event
      */
-    private record EventRegistration<T> (Event<T> event, T listener) {
+    private record EventRegistration<T> (Event<T> event, Identifier phase, Priority priority, T listener,
+                                         int interval, ConfigEntry<Boolean> condition, boolean oneShot,
+                                         ListenerScope scope, PendingHandle handle) {
 
         /**
          * Registers the associated listener to the event.
          */
-        private void register() {
-            event.register(listener);
+        @SuppressWarnings("unchecked")
+        private void register(ListenerProfiler profiler, ListenerCompiler<?> compiler) {
+            event.register(phase, listener(profiler, compiler == null ? null : (Class<T>) compiler.type()));
+        }
+
+        /**
+         * Gets the listener to register, wrapped by the profiler if one is present.
+         */
+        private T listener(ListenerProfiler profiler, Class<T> type) {
+            if (profiler == null) {
+                return listener;
+            }
+            return profiler.wrap(type, listener, listener.getClass().getName() + "[" + phase + ", " + priority + "]");
+        }
+
+        /**
+         * Checks if this listener is only invoked under some condition.
+         */
+        private boolean isGated() {
+            return interval > 1 || condition != null || oneShot || scope != null || handle != null;
+        }
+
+        private EventPhase eventPhase() {
+            return new EventPhase(event, phase);
         }
 
     }
 
-}
+    /**
+     * A record representing a single phase of an event.
+     */
+    private record EventPhase(Event<?> event, Identifier phase) {}
+
+    /**
+     * A handle returned before the listener is registered, bound to
+     * the registered listener when {@link #registerAll()} is called.
+     */
+    private static final class PendingHandle implements ListenerHandle {
+
+        private ListenerHandle entry = null;
+        private boolean removed = false;
+
+        private void bind(ListenerHandle entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public boolean isRegistered() {
+            return entry != null ? entry.isRegistered() : !removed;
+        }
+
+        @Override
+        public void unregister() {
+            if (entry != null) {
+                entry.unregister();
+            } else {
+                removed = true;
+            }
+        }
+
+    }
 
+}
@@ -0,0 +1,43 @@
+package com.mikitellurium.telluriumforge.event;
+
+import java.lang.reflect.Array;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A record holding the factory used to merge the listeners of an event.
+ *
+ * @param type           The listener type of the event
+ * @param invokerFactory Creates the invoker that calls all the listeners in the array
+ * @param <T> The type of event
+ */
+record ListenerCompiler<T>(Class<T> type, Function<T[], T> invokerFactory) {
+
+    /**
+     * Creates an invoker that calls all the specified listeners, in order.
+     */
+    @SuppressWarnings("unchecked")
+    T compile(List<T> listeners) {
+        T[] array = (T[]) Array.newInstance(type, listeners.size());
+        return invokerFactory.apply(listeners.toArray(array));
+    }
+
+    /**
+     * Creates an invoker that always calls the listener currently stored
+     * in the single element of the specified array.
+     */
+    T delegate(T[] slot) {
+        return invokerFactory.apply(slot);
+    }
+
+    /**
+     * Creates an array of the listener type that holds a single listener.
+     */
+    @SuppressWarnings("unchecked")
+    T[] slot(T listener) {
+        T[] slot = (T[]) Array.newInstance(type, 1);
+        slot[0] = listener;
+        return slot;
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.mikitellurium.telluriumforge.event;
+
+/**
+ * A handle to a listener added with {@link EventHelper#addRemovableListener},
+ * used to remove the listener from its event after it was registered.
+ */
+public interface ListenerHandle {
+
+    /**
+     * Checks if the listener is still registered.
+     *
+     * @return true if the listener wasn't unregistered, otherwise false
+     */
+    boolean isRegistered();
+
+    /**
+     * Removes the listener from its event. The listener is never
+     * invoked again after this is called.
+     */
+    void unregister();
+
+}
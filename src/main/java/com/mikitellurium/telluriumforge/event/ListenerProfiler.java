@@ -0,0 +1,224 @@
+package com.mikitellurium.telluriumforge.event;
+
+import com.mikitellurium.telluriumforge.TelluriumForge;
+import com.mikitellurium.telluriumforge.metrics.Histogram;
+import com.mikitellurium.telluriumforge.metrics.Metrics;
+import org.slf4j.event.Level;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the cost of the listeners registered through an {@link EventHelper}.
+ * <p>
+ * A profiler is applied with {@link EventHelper#profile} and wraps every listener when
+ * {@link EventHelper#registerAll()} is called. For each listener it records the number of
+ * invocations, the total and max time, the exceptions thrown and a rolling window of the
+ * latest invocation times used to compute percentiles. Listeners whose single invocation
+ * takes longer than the slow threshold are logged, at most once per second each.
+ * <p>
+ * Wrapping uses a dynamic proxy, so this is meant for diagnostics and should not be
+ * left enabled in normal play.
+ */
+public class ListenerProfiler {
+
+    /**
+     * The number of latest invocation times kept for each listener.
+     */
+    private static final int WINDOW_SIZE = 1024;
+    private static final long WARN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final Histogram INVOCATION_NANOS = Metrics.histogram("telluriumforge_event_listener_nanos", "Time spent in profiled event listeners");
+
+    private final long slowThresholdNanos;
+    private final List<ListenerStats> stats = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs a new {@code ListenerProfiler}.
+     *
+     * @param slowThreshold The time after which a single invocation is logged as slow
+     * @param unit          The unit of the threshold
+     */
+    public ListenerProfiler(long slowThreshold, TimeUnit unit) {
+        this.slowThresholdNanos = unit.toNanos(slowThreshold);
+    }
+
+    /**
+     * Wraps a listener so its invocations are recorded by this profiler.
+     *
+     * @param <T>      The type of event
+     * @param type     The listener type of the event, or {@code null} to use the interfaces of the listener
+     * @param listener The listener to wrap
+     * @param name     The name the listener is reported with
+     * @return The wrapped listener, or the listener itself if it has no interface to proxy
+     */
+    @SuppressWarnings("unchecked")
+    <T> T wrap(Class<T> type, T listener, String name) {
+        Class<?>[] interfaces = type != null ? new Class<?>[]{type} : interfacesOf(listener.getClass());
+        if (interfaces.length == 0) {
+            TelluriumForge.telluriumLogger().warn("Can't profile listener {}, it doesn't implement any interface", name);
+            return listener;
+        }
+        ListenerStats listenerStats = new ListenerStats(name);
+        stats.add(listenerStats);
+        InvocationHandler handler = (proxy, method, args) -> invoke(listenerStats, listener, method, args);
+        return (T) Proxy.newProxyInstance(listener.getClass().getClassLoader(), interfaces, handler);
+    }
+
+    private Object invoke(ListenerStats listenerStats, Object listener, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return method.invoke(listener, args);
+        }
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            return method.invoke(listener, args);
+        } catch (InvocationTargetException e) {
+            failed = true;
+            throw e.getCause();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            listenerStats.record(elapsed, failed);
+            INVOCATION_NANOS.record(elapsed);
+            if (elapsed > slowThresholdNanos && listenerStats.shouldWarn(start)) {
+                TelluriumForge.telluriumLogger().diagnostic(Level.WARN, "Slow listener {} took {} ms", listenerStats.name,
+                        String.format(Locale.ROOT, "%.3f", elapsed / 1_000_000.0));
+            }
+        }
+    }
+
+    /**
+     * Collects all the interfaces implemented by the specified class and its superclasses.
+     */
+    private static Class<?>[] interfacesOf(Class<?> clazz) {
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+            interfaces.addAll(Arrays.asList(current.getInterfaces()));
+        }
+        return interfaces.toArray(Class<?>[]::new);
+    }
+
+    /**
+     * Creates a snapshot of the recorded data of every listener, slowest total time first.
+     *
+     * @return The snapshots of the profiled listeners
+     */
+    public List<Snapshot> snapshot() {
+        List<Snapshot> snapshots = new ArrayList<>(stats.size());
+        for (ListenerStats listenerStats : stats) {
+            snapshots.add(listenerStats.snapshot());
+        }
+        snapshots.sort(Comparator.comparingLong(Snapshot::totalNanos).reversed());
+        return snapshots;
+    }
+
+    /**
+     * Writes a snapshot of the recorded data as CSV, one listener per line.
+     *
+     * @param writer The writer to write the data to
+     * @throws IOException if an I/O error occurs
+     */
+    public void exportCsv(Writer writer) throws IOException {
+        writer.write("listener,count,total_ns,max_ns,p50_ns,p95_ns,p99_ns,exceptions" + System.lineSeparator());
+        for (Snapshot snapshot : snapshot()) {
+            writer.write(String.format(Locale.ROOT, "\"%s\",%d,%d,%d,%d,%d,%d,%d%n", snapshot.name(), snapshot.count(),
+                    snapshot.totalNanos(), snapshot.maxNanos(), snapshot.p50Nanos(), snapshot.p95Nanos(),
+                    snapshot.p99Nanos(), snapshot.exceptions()));
+        }
+        writer.flush();
+    }
+
+    /**
+     * Clears the recorded data of every listener.
+     */
+    public void reset() {
+        stats.forEach(ListenerStats::reset);
+    }
+
+    /**
+     * The recorded data of a single listener.
+     */
+    private static final class ListenerStats {
+
+        private final String name;
+        private final long[] window = new long[WINDOW_SIZE];
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private long exceptions;
+        private long lastWarn = Long.MIN_VALUE;
+
+        private ListenerStats(String name) {
+            this.name = name;
+        }
+
+        private synchronized void record(long nanos, boolean failed) {
+            window[(int) (count % WINDOW_SIZE)] = nanos;
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            if (failed) {
+                exceptions++;
+            }
+        }
+
+        private synchronized boolean shouldWarn(long now) {
+            if (lastWarn == Long.MIN_VALUE || now - lastWarn >= WARN_INTERVAL_NANOS) {
+                lastWarn = now;
+                return true;
+            }
+            return false;
+        }
+
+        private synchronized void reset() {
+            count = 0;
+            totalNanos = 0;
+            maxNanos = 0;
+            exceptions = 0;
+        }
+
+        private synchronized Snapshot snapshot() {
+            long[] samples = Arrays.copyOf(window, (int) Math.min(count, WINDOW_SIZE));
+            Arrays.sort(samples);
+            return new Snapshot(name, count, totalNanos, maxNanos, exceptions,
+                    percentile(samples, 0.50), percentile(samples, 0.95), percentile(samples, 0.99));
+        }
+
+        private static long percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[(int) Math.ceil(percentile * sorted.length) - 1];
+        }
+
+    }
+
+    /**
+     * A snapshot of the recorded data of a single listener. The percentiles are
+     * computed over the latest invocations only.
+     *
+     * @param name       The name of the listener
+     * @param count      The number of invocations
+     * @param totalNanos The total time spent in the listener
+     * @param maxNanos   The longest single invocation
+     * @param exceptions The number of invocations that threw an exception
+     * @param p50Nanos   The median invocation time
+     * @param p95Nanos   The 95th percentile invocation time
+     * @param p99Nanos   The 99th percentile invocation time
+     */
+    public record Snapshot(String name, long count, long totalNanos, long maxNanos, long exceptions,
+                           long p50Nanos, long p95Nanos, long p99Nanos) {}
+
+}
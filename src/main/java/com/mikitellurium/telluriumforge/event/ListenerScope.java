@@ -0,0 +1,171 @@
+package com.mikitellurium.telluriumforge.event;
+
+import net.fabricmc.fabric.api.client.screen.v1.ScreenEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.client.gui.screen.Screen;
+import net.minecraft.server.world.ServerWorld;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A group of listeners that share the same lifetime, like a world, a server
+ * session or a screen.
+ * <p>
+ * Listeners are added to a scope with {@link EventHelper#inScope}. When the scope is
+ * closed every listener in it is swapped out of its event at once and released, so
+ * listeners that belong to a world that was unloaded don't keep running.
+ * <pre>{@code
+ * ListenerScope scope = ListenerScope.world(world);
+ * new EventHelper()
+ *         .compile(ServerTickEvents.END_WORLD_TICK, ServerTickEvents.EndWorldTick.class, listeners -> w -> {
+ *             for (ServerTickEvents.EndWorldTick listener : listeners) {
+ *                 listener.onEndTick(w);
+ *             }
+ *         })
+ *         .inScope(scope)
+ *         .addListener(ServerTickEvents.END_WORLD_TICK, w -> updateWorldData(w))
+ *         .registerAll();
+ * }</pre>
+ */
+public class ListenerScope {
+
+    private static final List<ListenerScope> SESSION_SCOPES = new ArrayList<>();
+    private static final Map<ServerWorld, List<ListenerScope>> WORLD_SCOPES = new WeakHashMap<>();
+    private static boolean serverHooksRegistered = false;
+
+    private final String name;
+    private final List<EventDispatcher.Bucket<?>> buckets = new ArrayList<>();
+    private boolean closed = false;
+
+    /**
+     * Constructs a new {@code ListenerScope} that stays open until {@link #close()} is called.
+     *
+     * @param name The name of the scope
+     */
+    public ListenerScope(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Creates a scope that is closed when the server stops.
+     *
+     * @return A new {@code ListenerScope}
+     */
+    public static ListenerScope serverSession() {
+        ListenerScope scope = new ListenerScope("server_session");
+        synchronized (ListenerScope.class) {
+            registerServerHooks();
+            SESSION_SCOPES.add(scope);
+        }
+        return scope;
+    }
+
+    /**
+     * Creates a scope that is closed when the specified world is unloaded.
+     *
+     * @param world The world the scope belongs to
+     * @return A new {@code ListenerScope}
+     */
+    public static ListenerScope world(ServerWorld world) {
+        ListenerScope scope = new ListenerScope("world:" + world.getRegistryKey().getValue());
+        synchronized (ListenerScope.class) {
+            registerServerHooks();
+            WORLD_SCOPES.computeIfAbsent(world, key -> new ArrayList<>()).add(scope);
+        }
+        return scope;
+    }
+
+    /**
+     * Creates a scope that is closed when the specified screen is removed.
+     *
+     * @param screen The screen the scope belongs to
+     * @return A new {@code ListenerScope}
+     */
+    public static ListenerScope screen(Screen screen) {
+        ListenerScope scope = new ListenerScope("screen:" + screen.getClass().getSimpleName());
+        ScreenEvents.remove(screen).register(removed -> scope.close());
+        return scope;
+    }
+
+    private static void registerServerHooks() {
+        if (serverHooksRegistered) {
+            return;
+        }
+        serverHooksRegistered = true;
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            List<ListenerScope> scopes;
+            synchronized (ListenerScope.class) {
+                scopes = new ArrayList<>(SESSION_SCOPES);
+                SESSION_SCOPES.clear();
+                WORLD_SCOPES.values().forEach(scopes::addAll);
+                WORLD_SCOPES.clear();
+            }
+            scopes.forEach(ListenerScope::close);
+        });
+        ServerWorldEvents.UNLOAD.register((server, world) -> {
+            List<ListenerScope> scopes;
+            synchronized (ListenerScope.class) {
+                scopes = WORLD_SCOPES.remove(world);
+            }
+            if (scopes != null) {
+                scopes.forEach(ListenerScope::close);
+            }
+        });
+    }
+
+    /**
+     * Gets the name of this scope.
+     *
+     * @return The name of the scope
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Checks if this scope is closed.
+     *
+     * @return true if the scope was closed, otherwise false
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Closes this scope, swapping all its listeners out of their events.
+     * Listeners added to a closed scope are never registered.
+     */
+    public void close() {
+        List<EventDispatcher.Bucket<?>> closing;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            closing = new ArrayList<>(buckets);
+            buckets.clear();
+        }
+        // Closing a bucket locks its dispatcher, which must not happen while holding this lock
+        closing.forEach(EventDispatcher.Bucket::close);
+    }
+
+    void add(EventDispatcher.Bucket<?> bucket) {
+        synchronized (this) {
+            if (!closed) {
+                buckets.add(bucket);
+                return;
+            }
+        }
+        bucket.close();
+    }
+
+    @Override
+    public String toString() {
+        return "ListenerScope[" + name + (closed ? ", closed]" : "]");
+    }
+
+}
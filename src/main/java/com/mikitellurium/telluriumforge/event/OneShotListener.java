@@ -0,0 +1,38 @@
+package com.mikitellurium.telluriumforge.event;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+
+/**
+ * Creates listeners that run a callback the first time they are invoked.
+ */
+final class OneShotListener {
+
+    private OneShotListener() {}
+
+    /**
+     * Wraps a listener so that the specified callback runs right before
+     * its first invocation.
+     *
+     * @param type      The listener type of the event
+     * @param listener  The listener to wrap
+     * @param onInvoked The callback to run before the first invocation
+     * @return The wrapped listener
+     * @param <T> The type of event
+     */
+    static <T> T wrap(Class<T> type, T listener, Runnable onInvoked) {
+        boolean[] invoked = {false};
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() != Object.class && !invoked[0]) {
+                invoked[0] = true;
+                onInvoked.run();
+            }
+            try {
+                return method.invoke(listener, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }));
+    }
+
+}
@@ -0,0 +1,257 @@
+package com.mikitellurium.telluriumforge.metrics;
+
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.BlockEntityTicker;
+import net.minecraft.block.entity.BlockEntityType;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the tick time of block entities, grouped by {@link BlockEntityType} and by chunk.
+ * <p>
+ * Mods opt in by wrapping the tickers returned by their blocks:
+ * <pre>{@code
+ * @Override
+ * public <T extends BlockEntity> BlockEntityTicker<T> getTicker(World world, BlockState state, BlockEntityType<T> type) {
+ *     return BlockEntityTickProfiler.wrap(validateTicker(type, MY_MACHINE, MyMachineBlockEntity::tick));
+ * }
+ * }</pre>
+ * The profiler is started and inspected with the {@code /telluriumforge tickprofile} command.
+ * While it is stopped a wrapped ticker only reads a flag before ticking. While it is running
+ * each tick is timed with a probability of one over the sample interval, and the recorded
+ * times are multiplied by the interval to estimate the total cost, so the profiler can run on
+ * busy servers. Ticks are picked at random rather than by counting, because block entities
+ * tick in the same order every tick and counting would always pick the same ones. Samples
+ * are recorded without locks. Only the ticks of server worlds are recorded.
+ */
+public final class BlockEntityTickProfiler {
+
+    /**
+     * The largest sample interval, timing one tick out of 1024.
+     */
+    public static final int MAX_SAMPLE_INTERVAL = 1024;
+
+    private static volatile boolean enabled = false;
+    private static volatile int sampleMask = 0;
+
+    private static final Map<BlockEntityType<?>, Stats> TYPES = new ConcurrentHashMap<>();
+    private static final Map<ChunkKey, Stats> CHUNKS = new ConcurrentHashMap<>();
+    private static int startTick = 0;
+    private static int stopTick = -1;
+
+    private BlockEntityTickProfiler() {}
+
+    /**
+     * Wraps a block entity ticker so its ticks are recorded while the profiler is running.
+     *
+     * @param <T>    The type of block entity
+     * @param ticker The ticker to wrap, can be {@code null}
+     * @return The wrapped ticker, or {@code null} if the ticker is {@code null}
+     */
+    public static <T extends BlockEntity> BlockEntityTicker<T> wrap(BlockEntityTicker<T> ticker) {
+        if (ticker == null) {
+            return null;
+        }
+        return (world, pos, state, blockEntity) -> {
+            if (!enabled || world.isClient() || (ThreadLocalRandom.current().nextInt() & sampleMask) != 0) {
+                ticker.tick(world, pos, state, blockEntity);
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                ticker.tick(world, pos, state, blockEntity);
+            } finally {
+                record(blockEntity.getType(), world.getRegistryKey(), ChunkPos.toLong(pos), System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * @return true if the profiler is recording ticks, otherwise false
+     */
+    public static boolean isRunning() {
+        return enabled;
+    }
+
+    /**
+     * Clears the recorded data and starts recording ticks.
+     *
+     * @param serverTick     The current tick of the server, used to report the cost per server tick
+     * @param sampleInterval The profiler times one tick out of this many, rounded up to a power of two
+     * @throws IllegalArgumentException if the interval isn't between 1 and {@link #MAX_SAMPLE_INTERVAL}
+     */
+    public static synchronized void start(int serverTick, int sampleInterval) {
+        if (sampleInterval < 1 || sampleInterval > MAX_SAMPLE_INTERVAL) {
+            throw new IllegalArgumentException("Sample interval must be between 1 and " + MAX_SAMPLE_INTERVAL);
+        }
+        TYPES.clear();
+        CHUNKS.clear();
+        startTick = serverTick;
+        stopTick = -1;
+        sampleMask = sampleInterval == 1 ? 0 : Integer.highestOneBit(sampleInterval - 1) * 2 - 1;
+        enabled = true;
+    }
+
+    /**
+     * Stops recording ticks. The recorded data is kept until the profiler is started again.
+     *
+     * @param serverTick The current tick of the server
+     */
+    public static synchronized void stop(int serverTick) {
+        if (enabled) {
+            enabled = false;
+            stopTick = serverTick;
+        }
+    }
+
+    /**
+     * Stops recording ticks and clears the recorded data.
+     */
+    public static synchronized void reset() {
+        enabled = false;
+        TYPES.clear();
+        CHUNKS.clear();
+        startTick = 0;
+        stopTick = -1;
+    }
+
+    private static void record(BlockEntityType<?> type, RegistryKey<World> world, long chunk, long nanos) {
+        if (!enabled) {
+            return;
+        }
+        statsOf(TYPES, type).add(nanos);
+        statsOf(CHUNKS, new ChunkKey(world, chunk)).add(nanos);
+    }
+
+    private static <K> Stats statsOf(Map<K, Stats> map, K key) {
+        // A plain get doesn't lock, computeIfAbsent is only needed the first time
+        Stats stats = map.get(key);
+        return stats != null ? stats : map.computeIfAbsent(key, k -> new Stats());
+    }
+
+    /**
+     * Creates a report of the most expensive block entity types and chunks recorded so far.
+     *
+     * @param serverTick The current tick of the server
+     * @param limit      The maximum number of types and of chunks in the report
+     * @return The report
+     */
+    public static synchronized Report report(int serverTick, int limit) {
+        int interval = sampleMask + 1;
+        List<Entry> types = new ArrayList<>(TYPES.size());
+        TYPES.forEach((type, stats) -> {
+            Identifier id = Registries.BLOCK_ENTITY_TYPE.getId(type);
+            types.add(stats.toEntry(id != null ? id.toString() : type.toString(), interval));
+        });
+        List<Entry> chunks = new ArrayList<>(CHUNKS.size());
+        CHUNKS.forEach((key, stats) -> chunks.add(stats.toEntry(key.describe(), interval)));
+        Comparator<Entry> byCost = Comparator.comparingLong(Entry::estimatedNanos).reversed();
+        types.sort(byCost);
+        chunks.sort(byCost);
+        int ticks = Math.max(1, (stopTick >= 0 ? stopTick : serverTick) - startTick);
+        return new Report(ticks, interval, List.copyOf(types.subList(0, Math.min(limit, types.size()))),
+                List.copyOf(chunks.subList(0, Math.min(limit, chunks.size()))));
+    }
+
+    /**
+     * The recorded ticks of a single type or chunk, updated without locks from any thread.
+     */
+    private static final class Stats {
+
+        private final LongAdder samples = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+        private void add(long nanos) {
+            samples.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        private Entry toEntry(String name, int interval) {
+            long count = samples.sum();
+            long total = totalNanos.sum();
+            return new Entry(name, count, total * interval, total / Math.max(1, count), maxNanos.get());
+        }
+
+    }
+
+    private record ChunkKey(RegistryKey<World> world, long chunk) {
+
+        private String describe() {
+            return world.getValue() + " [" + ChunkPos.getPackedX(chunk) + ", " + ChunkPos.getPackedZ(chunk) + "]";
+        }
+
+    }
+
+    /**
+     * The estimated tick cost of a block entity type or of a chunk.
+     *
+     * @param name           The id of the type, or the dimension and coordinates of the chunk
+     * @param samples        The number of timed ticks
+     * @param estimatedNanos The estimated total tick time, the timed time multiplied by the sample interval
+     * @param meanNanos      The mean time of a single tick
+     * @param maxNanos       The longest timed tick
+     */
+    public record Entry(String name, long samples, long estimatedNanos, long meanNanos, long maxNanos) {}
+
+    /**
+     * The most expensive block entity types and chunks, most expensive first.
+     *
+     * @param ticks          The number of server ticks the profiler ran for
+     * @param sampleInterval The profiler timed one tick out of this many
+     * @param types          The most expensive block entity types
+     * @param chunks         The most expensive chunks
+     */
+    public record Report(int ticks, int sampleInterval, List<Entry> types, List<Entry> chunks) {
+
+        /**
+         * Gets the estimated time an entry costs on each server tick.
+         *
+         * @param entry The entry
+         * @return The estimated milliseconds per server tick
+         */
+        public double millisPerTick(Entry entry) {
+            return entry.estimatedNanos() / 1_000_000.0 / ticks;
+        }
+
+        /**
+         * Writes this report as CSV, one type or chunk per line.
+         *
+         * @param writer The writer to write the report to
+         * @throws IOException if an I/O error occurs
+         */
+        public void exportCsv(Writer writer) throws IOException {
+            writer.write("kind,name,samples,estimated_ns,ms_per_tick,mean_ns,max_ns" + System.lineSeparator());
+            for (Entry entry : types) {
+                writeCsv(writer, "type", entry);
+            }
+            for (Entry entry : chunks) {
+                writeCsv(writer, "chunk", entry);
+            }
+            writer.flush();
+        }
+
+        private void writeCsv(Writer writer, String kind, Entry entry) throws IOException {
+            writer.write(String.format(Locale.ROOT, "%s,\"%s\",%d,%d,%.4f,%d,%d%n", kind, entry.name(), entry.samples(),
+                    entry.estimatedNanos(), this.millisPerTick(entry), entry.meanNanos(), entry.maxNanos()));
+        }
+
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.mikitellurium.telluriumforge.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A metric that counts events. Counting is cheap and doesn't contend between threads.
+ */
+public final class Counter extends Metric {
+
+    private final LongAdder count = new LongAdder();
+
+    Counter(String name, String help) {
+        super(name, help);
+    }
+
+    /**
+     * Counts one event.
+     */
+    public void increment() {
+        count.increment();
+    }
+
+    /**
+     * Counts the specified number of events.
+     *
+     * @param amount The number of events
+     */
+    public void add(long amount) {
+        count.add(amount);
+    }
+
+    /**
+     * @return the number of counted events
+     */
+    public long get() {
+        return count.sum();
+    }
+
+    @Override
+    String type() {
+        return "counter";
+    }
+
+    @Override
+    void writeSamples(Writer writer) throws IOException {
+        writer.write(this.getName() + " " + this.get() + "\n");
+    }
+
+    @Override
+    public String describe() {
+        return Long.toString(this.get());
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.mikitellurium.telluriumforge.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.function.DoubleSupplier;
+
+/**
+ * A metric whose value is read from a supplier when the metrics are reported,
+ * such as the size or hit rate of a cache.
+ */
+public final class Gauge extends Metric {
+
+    private final DoubleSupplier value;
+
+    Gauge(String name, String help, DoubleSupplier value) {
+        super(name, help);
+        this.value = value;
+    }
+
+    /**
+     * @return the current value of this gauge
+     */
+    public double get() {
+        return value.getAsDouble();
+    }
+
+    @Override
+    String type() {
+        return "gauge";
+    }
+
+    @Override
+    void writeSamples(Writer writer) throws IOException {
+        writer.write(this.getName() + " " + formatValue(this.get()) + "\n");
+    }
+
+    @Override
+    public String describe() {
+        return String.format(Locale.ROOT, "%.4f", this.get());
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.mikitellurium.telluriumforge.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A metric that records the distribution of values, such as durations in nanoseconds.
+ * <p>
+ * Values are counted in buckets whose bounds are powers of two, so recording a value is
+ * a couple of bit operations and an uncontended add, and the relative error of the
+ * reported percentiles is at most a factor of two. Negative values are recorded as zero.
+ */
+public final class Histogram extends Metric {
+
+    /**
+     * Bucket {@code i} counts the values in {@code [2^(i-1), 2^i)}, bucket 0 counts zero.
+     */
+    private static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    Histogram(String name, String help) {
+        super(name, help);
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a value.
+     *
+     * @param value The value
+     */
+    public void record(long value) {
+        value = Math.max(0L, value);
+        buckets[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value))].increment();
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * @return the number of recorded values
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return the sum of the recorded values
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * @return the largest recorded value
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Estimates a percentile of the recorded values, as the upper bound of the bucket that holds it.
+     *
+     * @param percentile The percentile, from {@code 0} to {@code 1}
+     * @return The estimated percentile, or {@code 0} if no value was recorded
+     */
+    public long getPercentile(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0L;
+        }
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(1, rank)) {
+                return Math.min(upperBound(i), this.getMax());
+            }
+        }
+        return this.getMax();
+    }
+
+    private static long upperBound(int bucket) {
+        return bucket == 0 ? 0L : bucket >= 63 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+    @Override
+    String type() {
+        return "histogram";
+    }
+
+    @Override
+    void writeSamples(Writer writer) throws IOException {
+        long cumulative = 0;
+        int last = 64 - Long.numberOfLeadingZeros(this.getMax());
+        for (int i = 0; i <= Math.min(last, BUCKETS - 2); i++) {
+            cumulative += buckets[i].sum();
+            writer.write(this.getName() + "_bucket{le=\"" + upperBound(i) + "\"} " + cumulative + "\n");
+        }
+        writer.write(this.getName() + "_bucket{le=\"+Inf\"} " + this.getCount() + "\n");
+        writer.write(this.getName() + "_sum " + this.getSum() + "\n");
+        writer.write(this.getName() + "_count " + this.getCount() + "\n");
+    }
+
+    @Override
+    public String describe() {
+        long count = this.getCount();
+        return String.format(Locale.ROOT, "count=%d mean=%.1f p50=%d p99=%d max=%d", count,
+                count == 0 ? 0.0 : (double) this.getSum() / count,
+                this.getPercentile(0.50), this.getPercentile(0.99), this.getMax());
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.mikitellurium.telluriumforge.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A named runtime measurement registered in {@link Metrics}.
+ */
+public abstract class Metric {
+
+    private final String name;
+    private final String help;
+
+    Metric(String name, String help) {
+        this.name = name;
+        this.help = help;
+    }
+
+    /**
+     * @return the name of this metric
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the description of this metric
+     */
+    public String getHelp() {
+        return help;
+    }
+
+    /**
+     * @return the Prometheus type of this metric
+     */
+    abstract String type();
+
+    /**
+     * Writes the samples of this metric in the Prometheus text format, without the header lines.
+     */
+    abstract void writeSamples(Writer writer) throws IOException;
+
+    /**
+     * Describes the current value of this metric in a single human readable line.
+     *
+     * @return The description of the current value
+     */
+    public abstract String describe();
+
+    /**
+     * Formats a sample value for the Prometheus text format, which spells
+     * the infinities {@code +Inf} and {@code -Inf}.
+     */
+    static String formatValue(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        } else if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        return Double.toString(value);
+    }
+
+    /**
+     * Escapes a help text for a Prometheus {@code # HELP} line, where a raw
+     * newline would end the line and break the whole file.
+     */
+    static String escapeHelp(String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+}
@@ -0,0 +1,192 @@
+package com.mikitellurium.telluriumforge.metrics;
+
+import com.mikitellurium.telluriumforge.TelluriumForge;
+import net.fabricmc.loader.api.FabricLoader;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * The registry of the runtime metrics of TelluriumForge and the mods that use it.
+ * <p>
+ * Metrics are registered once, usually in a static field, and updated from any thread:
+ * <pre>{@code
+ * private static final Counter CRAFTS = Metrics.counter("mymod_auto_crafts_total", "Items crafted by auto crafters");
+ *
+ * CRAFTS.increment();
+ * }</pre>
+ * The metrics are shown by the {@code /telluriumforge metrics} command and, while a server
+ * is running, periodically written in the Prometheus text format to
+ * {@code telluriumforge-metrics.prom} in the game directory. The dump interval is set in
+ * seconds with the {@code telluriumforge.metricsDumpSeconds} system property, 60 by
+ * default, and {@code 0} disables the dump.
+ */
+public final class Metrics {
+
+    public static final long DUMP_INTERVAL_SECONDS = Long.getLong("telluriumforge.metricsDumpSeconds", 60L);
+
+    private static final Pattern NAME_PATTERN = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+    private static final Map<String, Metric> METRICS = new ConcurrentHashMap<>();
+    private static ScheduledExecutorService dumper;
+
+    private Metrics() {}
+
+    /**
+     * Gets the counter with the specified name, registering it if it doesn't exist.
+     *
+     * @param name The name of the counter, by convention ending with {@code _total}
+     * @param help The description of the counter
+     * @return The counter
+     * @throws IllegalArgumentException if a metric of another type has the same name
+     */
+    public static Counter counter(String name, String help) {
+        return register(name, Counter.class, key -> new Counter(key, help));
+    }
+
+    /**
+     * Gets the histogram with the specified name, registering it if it doesn't exist.
+     *
+     * @param name The name of the histogram, by convention ending with the unit of the values
+     * @param help The description of the histogram
+     * @return The histogram
+     * @throws IllegalArgumentException if a metric of another type has the same name
+     */
+    public static Histogram histogram(String name, String help) {
+        return register(name, Histogram.class, key -> new Histogram(key, help));
+    }
+
+    /**
+     * Registers a gauge, replacing the gauge with the same name if it exists.
+     * The supplier is referenced by the registry until the gauge is removed.
+     *
+     * @param name  The name of the gauge
+     * @param help  The description of the gauge
+     * @param value Supplies the current value of the gauge
+     * @return The gauge
+     * @throws IllegalArgumentException if a metric of another type has the same name
+     */
+    public static Gauge gauge(String name, String help, DoubleSupplier value) {
+        validateName(name);
+        Gauge gauge = new Gauge(name, help, value);
+        Metric previous = METRICS.put(name, gauge);
+        if (previous != null && !(previous instanceof Gauge)) {
+            METRICS.put(name, previous);
+            throw new IllegalArgumentException("Metric " + name + " is already registered as a " + previous.type());
+        }
+        return gauge;
+    }
+
+    /**
+     * Removes the metric with the specified name.
+     *
+     * @param name The name of the metric
+     */
+    public static void remove(String name) {
+        METRICS.remove(name);
+    }
+
+    /**
+     * @return all the registered metrics, sorted by name
+     */
+    public static List<Metric> getAll() {
+        List<Metric> metrics = new ArrayList<>(METRICS.values());
+        metrics.sort(Comparator.comparing(Metric::getName));
+        return Collections.unmodifiableList(metrics);
+    }
+
+    /**
+     * Writes all the registered metrics in the Prometheus text format.
+     *
+     * @param writer The writer to write the metrics to
+     * @throws IOException if an I/O error occurs
+     */
+    public static void writePrometheus(Writer writer) throws IOException {
+        for (Metric metric : getAll()) {
+            writer.write("# HELP " + metric.getName() + " " + Metric.escapeHelp(metric.getHelp()) + "\n");
+            writer.write("# TYPE " + metric.getName() + " " + metric.type() + "\n");
+            metric.writeSamples(writer);
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes all the registered metrics to the specified file in the Prometheus text format.
+     * The file is replaced atomically, so readers never see a partial dump.
+     *
+     * @param file The file to write the metrics to
+     * @throws IOException if an I/O error occurs
+     */
+    public static void dump(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writePrometheus(writer);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Starts dumping the metrics periodically on a background thread.
+     * This is called by TelluriumForge when a server starts.
+     */
+    public static synchronized void startDump() {
+        if (dumper != null || DUMP_INTERVAL_SECONDS <= 0) {
+            return;
+        }
+        Path file = FabricLoader.getInstance().getGameDir().resolve("telluriumforge-metrics.prom");
+        dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "TelluriumForge Metrics Dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dumper.scheduleAtFixedRate(() -> {
+            try {
+                dump(file);
+            } catch (IOException e) {
+                TelluriumForge.telluriumLogger().warn("Failed to write metrics to {}", file, e);
+            }
+        }, DUMP_INTERVAL_SECONDS, DUMP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the periodic dump of the metrics.
+     * This is called by TelluriumForge when a server stops.
+     */
+    public static synchronized void stopDump() {
+        if (dumper != null) {
+            dumper.shutdown();
+            dumper = null;
+        }
+    }
+
+    private static <M extends Metric> M register(String name, Class<M> type, Function<String, M> factory) {
+        validateName(name);
+        Metric metric = METRICS.computeIfAbsent(name, factory);
+        if (!type.isInstance(metric)) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as a " + metric.type());
+        }
+        return type.cast(metric);
+    }
+
+    private static void validateName(String name) {
+        if (!NAME_PATTERN.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid metric name: " + name);
+        }
+    }
+
+}
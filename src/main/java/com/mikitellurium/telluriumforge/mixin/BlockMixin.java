@@ -0,0 +1,27 @@
+package com.mikitellurium.telluriumforge.mixin;
+
+import com.llamalad7.mixinextras.injector.wrapoperation.Operation;
+import com.llamalad7.mixinextras.injector.wrapoperation.WrapOperation;
+import net.minecraft.block.Block;
+import net.minecraft.registry.DefaultedRegistry;
+import net.minecraft.registry.entry.RegistryEntry;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+
+@Mixin(Block.class)
+public abstract class BlockMixin {
+
+    /**
+     * Creating the intrusive registry entry is not thread safe, guard it so blocks
+     * can be constructed in parallel by a {@code RegistrationBatch}.
+     */
+    @WrapOperation(method = "<init>", at = @At(value = "INVOKE",
+            target = "Lnet/minecraft/registry/DefaultedRegistry;createEntry(Ljava/lang/Object;)Lnet/minecraft/registry/entry/RegistryEntry$Reference;"))
+    private RegistryEntry.Reference<Block> telluriumforge$createEntry(DefaultedRegistry<Block> registry, Object value,
+                                                                      Operation<RegistryEntry.Reference<Block>> original) {
+        synchronized (registry) {
+            return original.call(registry, value);
+        }
+    }
+
+}
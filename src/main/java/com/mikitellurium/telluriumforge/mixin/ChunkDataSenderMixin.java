@@ -0,0 +1,25 @@
+package com.mikitellurium.telluriumforge.mixin;
+
+import com.mikitellurium.telluriumforge.networking.packet.ChunkSyncPayload;
+import net.minecraft.server.network.ChunkDataSender;
+import net.minecraft.server.network.ServerPlayNetworkHandler;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.chunk.WorldChunk;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(ChunkDataSender.class)
+public abstract class ChunkDataSenderMixin {
+
+    /**
+     * Sends the initial state of the synced block entity fields right after
+     * the chunk data, so the block entities already exist on the client.
+     */
+    @Inject(method = "sendChunkData", at = @At("TAIL"))
+    private static void telluriumforge$sendChunkSync(ServerPlayNetworkHandler handler, ServerWorld world, WorldChunk chunk, CallbackInfo ci) {
+        ChunkSyncPayload.send(handler.getPlayer(), chunk);
+    }
+
+}
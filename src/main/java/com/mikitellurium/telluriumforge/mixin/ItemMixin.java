@@ -0,0 +1,27 @@
+package com.mikitellurium.telluriumforge.mixin;
+
+import com.llamalad7.mixinextras.injector.wrapoperation.Operation;
+import com.llamalad7.mixinextras.injector.wrapoperation.WrapOperation;
+import net.minecraft.item.Item;
+import net.minecraft.registry.DefaultedRegistry;
+import net.minecraft.registry.entry.RegistryEntry;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+
+@Mixin(Item.class)
+public abstract class ItemMixin {
+
+    /**
+     * Creating the intrusive registry entry is not thread safe, guard it so items
+     * can be constructed in parallel by a {@code RegistrationBatch}.
+     */
+    @WrapOperation(method = "<init>", at = @At(value = "INVOKE",
+            target = "Lnet/minecraft/registry/DefaultedRegistry;createEntry(Ljava/lang/Object;)Lnet/minecraft/registry/entry/RegistryEntry$Reference;"))
+    private RegistryEntry.Reference<Item> telluriumforge$createEntry(DefaultedRegistry<Item> registry, Object value,
+                                                                     Operation<RegistryEntry.Reference<Item>> original) {
+        synchronized (registry) {
+            return original.call(registry, value);
+        }
+    }
+
+}
@@ -0,0 +1,230 @@
+package com.mikitellurium.telluriumforge.networking.packet;
+
+import com.mikitellurium.telluriumforge.TelluriumForge;
+import com.mikitellurium.telluriumforge.metrics.Counter;
+import com.mikitellurium.telluriumforge.metrics.Metrics;
+import io.netty.handler.codec.DecoderException;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.BlockEntityType;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A payload that carries the initial state of every registered {@link SyncedField}
+ * of the block entities in a chunk.
+ * <p>
+ * It is sent automatically right after the chunk data is sent to a player, so a
+ * single packet replaces the initial {@link BlockEntitySyncPayload} of every block
+ * entity in the chunk. Values are packed as columns: for each field the payload
+ * stores the number of entries, then all the positions and then all the values,
+ * so the client can unpack the whole chunk in one pass.
+ */
+public final class ChunkSyncPayload implements CustomPayload {
+
+    public static final Id<ChunkSyncPayload> ID = BlockEntitySyncPayload.makeId(Identifier.of(TelluriumForge.modId(), "chunk_sync"));
+    public static final PacketCodec<RegistryByteBuf, ChunkSyncPayload> CODEC = CustomPayload.codecOf(ChunkSyncPayload::write, ChunkSyncPayload::new);
+
+    /**
+     * All the registered fields, in registration order.
+     */
+    private static final Map<Identifier, SyncedField<?, ?>> FIELDS = new LinkedHashMap<>();
+    /**
+     * The registered fields grouped by the block entity type that holds them.
+     */
+    private static final Map<BlockEntityType<?>, List<SyncedField<?, ?>>> FIELDS_BY_TYPE = new HashMap<>();
+    private static final Counter SENT = Metrics.counter("telluriumforge_chunk_sync_payloads_total", "Chunk sync payloads sent to players");
+
+    private final List<Column> columns;
+
+    private ChunkSyncPayload(List<Column> columns) {
+        this.columns = columns;
+    }
+
+    private ChunkSyncPayload(RegistryByteBuf buf) {
+        // The counts come from the network, don't trust them to size the lists
+        int size = buf.readVarInt();
+        if (size < 0) {
+            throw new DecoderException("Invalid column count " + size);
+        }
+        this.columns = new ArrayList<>(Math.min(size, buf.readableBytes()));
+        for (int i = 0; i < size; i++) {
+            Identifier id = buf.readIdentifier();
+            SyncedField<?, ?> field = FIELDS.get(id);
+            if (field == null) {
+                throw new DecoderException("Unknown synced field: " + id);
+            }
+            int entries = buf.readVarInt();
+            if (entries < 0 || entries > buf.readableBytes() / Long.BYTES) {
+                throw new DecoderException("Invalid entry count " + entries + " for synced field " + id);
+            }
+            Column column = new Column(field, entries);
+            for (int j = 0; j < entries; j++) {
+                column.positions.add(buf.readLong());
+            }
+            for (int j = 0; j < entries; j++) {
+                column.values.add(field.codec().decode(buf));
+            }
+            this.columns.add(column);
+        }
+    }
+
+    /**
+     * Registers a field to be synchronized in bulk when a chunk is sent to a player.
+     * <p>
+     * This must be called during mod initialization on both the client and the server,
+     * so both sides know how to read the payload.
+     *
+     * @param field The field to register
+     * @return The registered field
+     * @param <B> The type of the block entity
+     * @param <T> The type of the synchronized value
+     */
+    public static <B extends BlockEntity, T> SyncedField<B, T> registerField(SyncedField<B, T> field) {
+        if (FIELDS.putIfAbsent(field.id(), field) != null) {
+            throw new IllegalArgumentException("Duplicate synced field: " + field.id());
+        }
+        FIELDS_BY_TYPE.computeIfAbsent(field.type(), type -> new ArrayList<>()).add(field);
+        return field;
+    }
+
+    /**
+     * Creates a payload holding the current value of every registered field
+     * of the block entities in the specified chunk.
+     *
+     * @param chunk The chunk to read the values from
+     * @return The payload, or {@code null} if the chunk has nothing to synchronize
+     */
+    public static ChunkSyncPayload of(WorldChunk chunk) {
+        if (FIELDS_BY_TYPE.isEmpty()) {
+            return null;
+        }
+
+        Map<SyncedField<?, ?>, Column> columns = new LinkedHashMap<>();
+        for (BlockEntity blockEntity : chunk.getBlockEntities().values()) {
+            List<SyncedField<?, ?>> fields = FIELDS_BY_TYPE.get(blockEntity.getType());
+            if (fields == null) {
+                continue;
+            }
+            long pos = blockEntity.getPos().asLong();
+            for (SyncedField<?, ?> field : fields) {
+                Column column = columns.computeIfAbsent(field, Column::new);
+                column.positions.add(pos);
+                column.values.add(field.read(blockEntity));
+            }
+        }
+
+        return columns.isEmpty() ? null : new ChunkSyncPayload(new ArrayList<>(columns.values()));
+    }
+
+    /**
+     * Sends the initial state of the specified chunk to a player, if the chunk
+     * has anything to synchronize and the player can receive it.
+     *
+     * @param player The player to send the payload to
+     * @param chunk  The chunk that was sent to the player
+     */
+    public static void send(ServerPlayerEntity player, WorldChunk chunk) {
+        if (!ServerPlayNetworking.canSend(player, ID)) {
+            return;
+        }
+        ChunkSyncPayload payload = of(chunk);
+        if (payload != null) {
+            ServerPlayNetworking.send(player, payload);
+            SENT.increment();
+        }
+    }
+
+    /**
+     * Writes the columns of this payload to the provided {@code RegistryByteBuf}.
+     *
+     * @param buf The {@code RegistryByteBuf} to write the data to
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void write(RegistryByteBuf buf) {
+        buf.writeVarInt(columns.size());
+        for (Column column : columns) {
+            buf.writeIdentifier(column.field.id());
+            int entries = column.positions.size();
+            buf.writeVarInt(entries);
+            for (int i = 0; i < entries; i++) {
+                buf.writeLong(column.positions.getLong(i));
+            }
+            PacketCodec codec = column.field.codec();
+            for (Object value : column.values) {
+                codec.encode(buf, value);
+            }
+        }
+    }
+
+    /**
+     * Applies every value in this payload to the matching block entities
+     * in the client world.
+     *
+     * @param context The {@code Context} in which the payload is handled
+     */
+    public void handleClient(ClientPlayNetworking.Context context) {
+        ClientWorld world = context.client().world;
+        if (world == null) {
+            return;
+        }
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        for (Column column : columns) {
+            for (int i = 0; i < column.positions.size(); i++) {
+                BlockEntity blockEntity = world.getBlockEntity(pos.set(column.positions.getLong(i)));
+                if (blockEntity != null) {
+                    column.field.apply(blockEntity, column.values.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the registered fields, in registration order
+     */
+    public static Map<Identifier, SyncedField<?, ?>> getFields() {
+        return Collections.unmodifiableMap(FIELDS);
+    }
+
+    @Override
+    public Id<ChunkSyncPayload> getId() {
+        return ID;
+    }
+
+    /**
+     * The positions and values of a single field in the chunk.
+     */
+    private static final class Column {
+
+        private final SyncedField<?, ?> field;
+        private final LongArrayList positions;
+        private final List<Object> values;
+
+        private Column(SyncedField<?, ?> field) {
+            this(field, 16);
+        }
+
+        private Column(SyncedField<?, ?> field, int expectedSize) {
+            this.field = field;
+            this.positions = new LongArrayList(expectedSize);
+            this.values = new ArrayList<>(expectedSize);
+        }
+
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.mikitellurium.telluriumforge.networking.packet;
+
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.BlockEntityType;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.util.Identifier;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A value of a block entity that is synchronized to the client in bulk
+ * when the chunk containing the block entity is sent to a player.
+ * <p>
+ * Fields are registered with {@link ChunkSyncPayload#registerField} during mod
+ * initialization, on both the client and the server, and are sent as part of a single
+ * {@link ChunkSyncPayload} per chunk instead of one {@link BlockEntitySyncPayload}
+ * per block entity.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * ChunkSyncPayload.registerField(new SyncedField<>(
+ *         Identifier.of("example", "energy"),
+ *         ModBlockEntities.GENERATOR,
+ *         PacketCodecs.INTEGER,
+ *         GeneratorBlockEntity::getEnergy,
+ *         GeneratorBlockEntity::setEnergy));
+ * }</pre>
+ *
+ * @param id            The unique identifier of this field
+ * @param type          The type of block entity that holds this field
+ * @param codec         The codec used to write and read the value
+ * @param getter        Reads the latest value from the block entity on the server
+ * @param clientHandler Applies the received value to the block entity on the client
+ * @param <B> The type of the block entity
+ * @param <T> The type of the synchronized value
+ */
+public record SyncedField<B extends BlockEntity, T>(Identifier id,
+                                                    BlockEntityType<B> type,
+                                                    PacketCodec<? super RegistryByteBuf, T> codec,
+                                                    Function<B, T> getter,
+                                                    BiConsumer<B, T> clientHandler) {
+
+    /**
+     * Reads the current value of this field from the specified block entity.
+     *
+     * @param blockEntity The block entity to read the value from
+     * @return The current value of this field
+     */
+    @SuppressWarnings("unchecked")
+    T read(BlockEntity blockEntity) {
+        return getter.apply((B) blockEntity);
+    }
+
+    /**
+     * Applies a received value to the specified block entity if it has
+     * the type of this field.
+     *
+     * @param blockEntity The block entity to update
+     * @param value       The received value
+     */
+    @SuppressWarnings("unchecked")
+    void apply(BlockEntity blockEntity, Object value) {
+        if (blockEntity.getType() == type) {
+            clientHandler.accept((B) blockEntity, (T) value);
+        }
+    }
+
+}
@@ -59,7 +59,7 @@ public class BooleanConfigOption extends ConfigOption<Boolean> {
      * Converts the {@code BooleanConfigOption} to a {@code SimpleOption} representing a UI option for
      * the boolean {@link ConfigEntry}.
      *
-     * @return The {@code SimpleOption} for the boolean configuration option
+     * @return A new {@code SimpleOption} for the boolean configuration option
      */
     @Override
     public SimpleOption<Boolean> asOption() {
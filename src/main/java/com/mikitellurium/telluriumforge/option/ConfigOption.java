@@ -5,12 +5,22 @@ import net.minecraft.client.option.SimpleOption;
 import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
 
+import java.lang.ref.WeakReference;
+import java.util.Objects;
 import java.util.function.Consumer;
 
 /**
  * A base abstract class representing a configuration option.
  * Concrete subclasses are expected to provide specific
  * implementations for creating a UI option for the {@link ConfigEntry}.
+ * <p>
+ * {@link #asOption()} creates a new {@code SimpleOption} every time it is called, while
+ * {@link #getOption()} creates it the first time it is requested and then reuses it, so
+ * options screens don't rebuild it every time they are opened. The cached option and its
+ * tooltip are created again when the value of the {@link ConfigEntry} is changed from
+ * outside the option, or after the client resources are reloaded, which includes language
+ * changes. The {@code ConfigEntry} only holds the option weakly, and options that are
+ * created for a single screen can be detached from it earlier with {@link #dispose()}.
  *
  * @param <T> The type of the configuration value
  */
@@ -31,6 +41,16 @@ public abstract class ConfigOption<T> {
      */
     private final ConfigEntry<T> config;
 
+    /**
+     * Incremented every time the client resources are reloaded, invalidating every cached option.
+     */
+    private static int generation = 0;
+
+    private final Consumer<T> changeListener;
+    private SimpleOption<T> option;
+    private SimpleOption.TooltipFactory<T> tooltip;
+    private int cachedGeneration = -1;
+
     /**
      * Constructs a {@code ConfigOption} for the given {@link ConfigEntry}.
      * The {@code Identifier} is used to generate the text and tooltip
@@ -43,6 +63,47 @@ public abstract class ConfigOption<T> {
         this.translationKey = identifier.toTranslationKey("option");
         this.config = config;
         this.tooltipKey = this.translationKey + ".tooltip";
+        this.changeListener = new ChangeListener<>(this);
+        config.addChangeListener(changeListener);
+    }
+
+    /**
+     * Invalidates the cached options and tooltips of every {@code ConfigOption}.
+     * This is called by TelluriumForge when the client resources are reloaded.
+     */
+    public static void invalidateAll() {
+        generation++;
+    }
+
+    /**
+     * Discards the cached option and tooltip, so they are created again the next time they are requested.
+     */
+    public void invalidate() {
+        this.option = null;
+        this.tooltip = null;
+    }
+
+    /**
+     * Stops listening to the changes of the {@link ConfigEntry} and discards the cached option.
+     * Call this when an option created for a single screen is no longer used.
+     */
+    public void dispose() {
+        config.removeChangeListener(changeListener);
+        this.invalidate();
+    }
+
+    private void onConfigChanged(T value) {
+        // Changes made through the option itself are already displayed
+        if (option != null && !Objects.equals(option.getValue(), value)) {
+            this.invalidate();
+        }
+    }
+
+    private void validateCache() {
+        if (cachedGeneration != generation) {
+            cachedGeneration = generation;
+            this.invalidate();
+        }
     }
 
     /**
@@ -84,13 +145,27 @@ public abstract class ConfigOption<T> {
     /**
      * Gets the tooltip factory for creating the tooltip associated with the {@code ConfigOption}.
      * The default implementation returns a translation if one is set for the tooltip key or an
-     * empty tooltip if a translation is not present.
+     * empty tooltip if a translation is not present. The tooltip factory is cached until
+     * the option is invalidated.
      *
      * @return The tooltip factory
      */
     protected SimpleOption.TooltipFactory<T> getTooltip() {
-        Text tooltip = Text.translatable(tooltipKey);
-        return tooltip.contains(Text.of(tooltipKey)) ? SimpleOption.emptyTooltip() : SimpleOption.constantTooltip(tooltip);
+        this.validateCache();
+        if (tooltip == null) {
+            tooltip = this.createTooltip();
+        }
+        return tooltip;
+    }
+
+    /**
+     * Creates the tooltip factory returned by {@link #getTooltip()}.
+     *
+     * @return The tooltip factory
+     */
+    protected SimpleOption.TooltipFactory<T> createTooltip() {
+        Text text = Text.translatable(tooltipKey);
+        return text.contains(Text.of(tooltipKey)) ? SimpleOption.emptyTooltip() : SimpleOption.constantTooltip(text);
     }
 
     /**
@@ -109,5 +184,40 @@ public abstract class ConfigOption<T> {
      */
     public abstract SimpleOption<T> asOption();
 
+    /**
+     * Gets the {@code SimpleOption} created by {@link #asOption()}, creating it only the first
+     * time it is requested. The option is cached until it is invalidated.
+     *
+     * @return The cached {@code SimpleOption} for the configuration option
+     */
+    public SimpleOption<T> getOption() {
+        this.validateCache();
+        if (option == null) {
+            option = this.asOption();
+        }
+        return option;
+    }
+
+    /**
+     * Forwards the changes of the {@link ConfigEntry} without keeping the option alive.
+     */
+    private static final class ChangeListener<T> implements Consumer<T> {
+
+        private final WeakReference<ConfigOption<T>> option;
+
+        private ChangeListener(ConfigOption<T> option) {
+            this.option = new WeakReference<>(option);
+        }
+
+        @Override
+        public void accept(T value) {
+            ConfigOption<T> configOption = option.get();
+            if (configOption != null) {
+                configOption.onConfigChanged(value);
+            }
+        }
+
+    }
+
 }
 
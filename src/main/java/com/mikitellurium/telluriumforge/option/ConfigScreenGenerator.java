@@ -0,0 +1,399 @@
+package com.mikitellurium.telluriumforge.option;
+
+import com.mikitellurium.telluriumforge.config.ConfigEntry;
+import com.mikitellurium.telluriumforge.config.EnumConfigEntry;
+import com.mikitellurium.telluriumforge.config.RangedConfigEntry;
+import com.mikitellurium.telluriumforge.config.TelluriumConfig;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.gui.Element;
+import net.minecraft.client.gui.Selectable;
+import net.minecraft.client.gui.screen.Screen;
+import net.minecraft.client.gui.screen.ScreenTexts;
+import net.minecraft.client.gui.tooltip.Tooltip;
+import net.minecraft.client.gui.widget.ButtonWidget;
+import net.minecraft.client.gui.widget.ClickableWidget;
+import net.minecraft.client.gui.widget.ElementListWidget;
+import net.minecraft.client.gui.widget.TextFieldWidget;
+import net.minecraft.client.resource.language.I18n;
+import net.minecraft.text.Text;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Generates an options screen for all the entries of a {@link TelluriumConfig}.
+ * <p>
+ * Boolean, enum and ranged number entries are shown with the matching {@link ConfigOption},
+ * every other entry is edited in a text field that only accepts valid values. The
+ * translation keys of the entries are made with {@link ConfigOption} rules, using the
+ * entry key sanitized into an {@code Identifier} path: the entry {@code "Max Speed"} of the
+ * namespace {@code modid} uses the key {@code option.modid.max_speed}.
+ * <p>
+ * The entries are shown in a scrolling list that only holds the widgets of the visible rows:
+ * the widgets of a row are created when the row scrolls into view and released when it
+ * scrolls out of view, unless the row is focused. Configs with hundreds of entries open
+ * instantly and never hold more widgets than fit on the screen. The config is saved when
+ * the screen is closed, if any value was changed.
+ * <pre>{@code
+ * ConfigScreenGenerator generator = new ConfigScreenGenerator(MOD_ID, CONFIG);
+ * // In a ModMenuApi implementation
+ * return generator::create;
+ * }</pre>
+ * The generator creates the options once and reuses them for every screen, so it
+ * should be stored rather than created every time the screen is opened.
+ */
+public class ConfigScreenGenerator {
+
+    private static final int ROW_WIDTH = 310;
+    private static final int ROW_HEIGHT = 25;
+    private static final int INVALID_COLOR = 0xFF5555;
+    private static final int VALID_COLOR = 0xE0E0E0;
+
+    private final String namespace;
+    private final TelluriumConfig config;
+    private final Text title;
+    /**
+     * Creates the row of each entry, made the first time a screen is created.
+     */
+    private List<Function<TextRenderer, Row>> rows;
+    private boolean dirty = false;
+
+    /**
+     * Constructs a new {@code ConfigScreenGenerator}.
+     * The title of the screen uses the translation key {@code config.<namespace>.title}.
+     *
+     * @param namespace The namespace used to make the translation keys of the entries
+     * @param config    The config to generate the screen for
+     */
+    public ConfigScreenGenerator(String namespace, TelluriumConfig config) {
+        this(namespace, config, Text.translatable("config." + namespace + ".title"));
+    }
+
+    /**
+     * Constructs a new {@code ConfigScreenGenerator}.
+     *
+     * @param namespace The namespace used to make the translation keys of the entries
+     * @param config    The config to generate the screen for
+     * @param title     The title of the screen
+     */
+    public ConfigScreenGenerator(String namespace, TelluriumConfig config, Text title) {
+        this.namespace = namespace;
+        this.config = config;
+        this.title = title;
+    }
+
+    /**
+     * Creates a new options screen for the config.
+     *
+     * @param parent The screen to return to when the options screen is closed
+     * @return The options screen
+     */
+    public Screen create(Screen parent) {
+        if (rows == null) {
+            rows = this.createRows();
+        }
+        return new GeneratedScreen(parent);
+    }
+
+    /**
+     * Sanitizes a config entry key into a valid {@code Identifier} path, by making
+     * it lowercase and replacing every invalid character with an underscore.
+     *
+     * @param key The config entry key
+     * @return The sanitized path
+     */
+    public static String sanitizePath(String key) {
+        String lowercase = key.toLowerCase(Locale.ROOT);
+        StringBuilder builder = new StringBuilder(lowercase.length());
+        for (int i = 0; i < lowercase.length(); i++) {
+            char c = lowercase.charAt(i);
+            builder.append(Identifier.isPathCharacterValid(c) ? c : '_');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Creates the option used to edit the specified entry. Override this to customize
+     * the generated screen.
+     *
+     * @param identifier The {@code Identifier} of the entry, used to make its translation keys
+     * @param entry      The config entry
+     * @return The option used to edit the entry, or {@code null} to edit it in a text field
+     */
+    @SuppressWarnings("unchecked")
+    protected ConfigOption<?> createOption(Identifier identifier, ConfigEntry<?> entry) {
+        Object value = entry.getDefaultValue();
+        if (entry instanceof EnumConfigEntry<?> enumEntry) {
+            return new EnumConfigOption<>(identifier, enumEntry);
+        } else if (value instanceof Boolean) {
+            return new BooleanConfigOption(identifier, (ConfigEntry<Boolean>) entry);
+        } else if (entry instanceof RangedConfigEntry<?>) {
+            if (value instanceof Integer) {
+                return new IntConfigOption(identifier, (RangedConfigEntry<Integer>) entry);
+            } else if (value instanceof Double) {
+                return new DoubleConfigOption(identifier, (RangedConfigEntry<Double>) entry);
+            } else if (value instanceof Long) {
+                return new LongConfigOption(identifier, (RangedConfigEntry<Long>) entry);
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<Function<TextRenderer, Row>> createRows() {
+        List<ConfigEntry> entries = config.getEntries();
+        List<Function<TextRenderer, Row>> list = new ArrayList<>(entries.size());
+        for (ConfigEntry entry : entries) {
+            Identifier identifier = Identifier.of(namespace, sanitizePath(entry.getKey()));
+            entry.addChangeListener(value -> dirty = true);
+            ConfigOption<?> option = this.createOption(identifier, entry);
+            if (option != null) {
+                list.add(textRenderer -> new OptionRow(option));
+            } else {
+                Function<String, ?> parser = parserOf(entry.getDefaultValue());
+                if (parser != null) {
+                    TextEntry textEntry = new TextEntry(entry, identifier.toTranslationKey("option"), parser);
+                    list.add(textRenderer -> new TextRow(textEntry, textRenderer));
+                }
+            }
+        }
+        return list;
+    }
+
+    private static Function<String, ?> parserOf(Object value) {
+        if (value instanceof Integer) {
+            return Integer::parseInt;
+        } else if (value instanceof Long) {
+            return Long::parseLong;
+        } else if (value instanceof Double) {
+            return Double::parseDouble;
+        } else if (value instanceof String) {
+            return Function.identity();
+        }
+        return null;
+    }
+
+    /**
+     * An entry edited in a text field.
+     *
+     * @param entry          The config entry
+     * @param translationKey The translation key of the entry name
+     * @param parser         Parses the text of the field, throwing a {@code NumberFormatException} if it is invalid
+     */
+    @SuppressWarnings("rawtypes")
+    private record TextEntry(ConfigEntry entry, String translationKey, Function<String, ?> parser) {}
+
+    private class GeneratedScreen extends Screen {
+
+        private final Screen parent;
+
+        private GeneratedScreen(Screen parent) {
+            super(ConfigScreenGenerator.this.title);
+            this.parent = parent;
+        }
+
+        @Override
+        protected void init() {
+            RowList list = new RowList(this.client, this.width, this.height - 64, 32);
+            for (Function<TextRenderer, Row> row : rows) {
+                list.addRow(row.apply(this.textRenderer));
+            }
+            this.addDrawableChild(list);
+            this.addDrawableChild(ButtonWidget.builder(ScreenTexts.DONE, button -> this.close())
+                    .dimensions(this.width / 2 - 100, this.height - 27, 200, 20)
+                    .build());
+        }
+
+        @Override
+        public void render(DrawContext context, int mouseX, int mouseY, float delta) {
+            super.render(context, mouseX, mouseY, delta);
+            context.drawCenteredTextWithShadow(this.textRenderer, this.title, this.width / 2, 12, 0xFFFFFF);
+        }
+
+        @Override
+        public void close() {
+            this.client.setScreen(parent);
+        }
+
+        @Override
+        public void removed() {
+            if (dirty) {
+                dirty = false;
+                config.save();
+            }
+        }
+
+    }
+
+    private static class RowList extends ElementListWidget<Row> {
+
+        /**
+         * Incremented every time the list is rendered, to find the rows that weren't rendered.
+         */
+        private int frame = 0;
+
+        private RowList(MinecraftClient client, int width, int height, int y) {
+            super(client, width, height, y, ROW_HEIGHT);
+        }
+
+        @Override
+        protected void renderList(DrawContext context, int mouseX, int mouseY, float delta) {
+            frame++;
+            super.renderList(context, mouseX, mouseY, delta);
+            // Only the visible rows are rendered, release the widgets of the others
+            for (Row row : this.children()) {
+                if (row.renderedFrame != frame && row != this.getFocused()) {
+                    row.release();
+                }
+            }
+        }
+
+        @Override
+        protected void renderEntry(DrawContext context, int mouseX, int mouseY, float delta,
+                                   int index, int x, int y, int entryWidth, int entryHeight) {
+            this.getEntry(index).renderedFrame = frame;
+            super.renderEntry(context, mouseX, mouseY, delta, index, x, y, entryWidth, entryHeight);
+        }
+
+        private void addRow(Row row) {
+            this.addEntry(row);
+        }
+
+        @Override
+        public int getRowWidth() {
+            return ROW_WIDTH;
+        }
+
+    }
+
+    /**
+     * A row of the list, whose widgets are created when it is rendered
+     * and released when it scrolls out of view.
+     */
+    private abstract static class Row extends ElementListWidget.Entry<Row> {
+
+        protected final List<ClickableWidget> widgets = new ArrayList<>(2);
+        private boolean created = false;
+        private int renderedFrame = -1;
+
+        /**
+         * Creates the widgets of this row.
+         */
+        protected abstract void createWidgets(int x, int y, int width);
+
+        /**
+         * Moves the widgets of this row to the current position of the row.
+         */
+        protected abstract void layout(int x, int y, int width);
+
+        /**
+         * Releases the widgets of this row, they are created again the next time it is rendered.
+         */
+        private void release() {
+            if (created) {
+                created = false;
+                widgets.clear();
+                this.setFocused(null);
+            }
+        }
+
+        @Override
+        public void render(DrawContext context, int index, int y, int x, int entryWidth, int entryHeight,
+                           int mouseX, int mouseY, boolean hovered, float tickDelta) {
+            if (!created) {
+                created = true;
+                this.createWidgets(x, y, entryWidth);
+            }
+            this.layout(x, y, entryWidth);
+            for (ClickableWidget widget : widgets) {
+                widget.render(context, mouseX, mouseY, tickDelta);
+            }
+        }
+
+        @Override
+        public List<? extends Element> children() {
+            return widgets;
+        }
+
+        @Override
+        public List<? extends Selectable> selectableChildren() {
+            return widgets;
+        }
+
+    }
+
+    private static class OptionRow extends Row {
+
+        private final ConfigOption<?> option;
+
+        private OptionRow(ConfigOption<?> option) {
+            this.option = option;
+        }
+
+        @Override
+        protected void createWidgets(int x, int y, int width) {
+            widgets.add(option.getOption().createWidget(MinecraftClient.getInstance().options, x, y, width));
+        }
+
+        @Override
+        protected void layout(int x, int y, int width) {
+            widgets.get(0).setPosition(x, y);
+        }
+
+    }
+
+    private static class TextRow extends Row {
+
+        private final TextEntry entry;
+        private final TextRenderer textRenderer;
+        private final Text name;
+
+        private TextRow(TextEntry entry, TextRenderer textRenderer) {
+            this.entry = entry;
+            this.textRenderer = textRenderer;
+            this.name = Text.translatable(entry.translationKey());
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected void createWidgets(int x, int y, int width) {
+            int fieldWidth = width / 2 - 5;
+            TextFieldWidget field = new TextFieldWidget(textRenderer, x + width - fieldWidth, y, fieldWidth, 20, name);
+            field.setMaxLength(256);
+            field.setText(String.valueOf(entry.entry().getValue()));
+            field.setChangedListener(text -> {
+                try {
+                    entry.entry().setValue(entry.parser().apply(text));
+                    field.setEditableColor(VALID_COLOR);
+                } catch (NumberFormatException e) {
+                    field.setEditableColor(INVALID_COLOR);
+                }
+            });
+            String tooltipKey = entry.translationKey() + ".tooltip";
+            if (I18n.hasTranslation(tooltipKey)) {
+                field.setTooltip(Tooltip.of(Text.translatable(tooltipKey)));
+            }
+            widgets.add(field);
+        }
+
+        @Override
+        protected void layout(int x, int y, int width) {
+            ClickableWidget field = widgets.get(0);
+            field.setPosition(x + width - field.getWidth(), y);
+        }
+
+        @Override
+        public void render(DrawContext context, int index, int y, int x, int entryWidth, int entryHeight,
+                           int mouseX, int mouseY, boolean hovered, float tickDelta) {
+            context.drawTextWithShadow(textRenderer, name, x, y + (20 - textRenderer.fontHeight) / 2 + 1, 0xFFFFFF);
+            super.render(context, index, y, x, entryWidth, entryHeight, mouseX, mouseY, hovered, tickDelta);
+        }
+
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.mikitellurium.telluriumforge.option;
+
+import com.mikitellurium.telluriumforge.config.RangedConfigEntry;
+import com.mojang.serialization.Codec;
+import net.minecraft.client.option.SimpleOption;
+import net.minecraft.util.Identifier;
+
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * A concrete subclass of {@link ConfigOption} representing a double configuration option.
+ * {@code DoubleConfigOption} is specifically designed to work with {@link RangedConfigEntry}
+ * for double values and is displayed as a slider that moves in fixed steps.
+ */
+public class DoubleConfigOption extends ConfigOption<Double> {
+
+    /**
+     * The default number of steps between the minimum and maximum value.
+     */
+    private static final int DEFAULT_STEPS = 100;
+
+    /**
+     * The value of each step, from the minimum to the maximum value.
+     */
+    private final Double[] values;
+    private final double step;
+    private final String format;
+
+    /**
+     * Constructs a {@link ConfigOption} for the given {@link RangedConfigEntry}.
+     * The {@code Identifier} is used to generate the text and tooltip
+     * translation keys for this option.
+     * The slider is divided in 100 steps.
+     *
+     * @param identifier The {@code Identifier} for the configuration option
+     * @param config     The {@link RangedConfigEntry} associated with the option
+     */
+    public DoubleConfigOption(Identifier identifier, RangedConfigEntry<Double> config) {
+        this(identifier, config, (config.getMaxValue() - config.getMinValue()) / DEFAULT_STEPS);
+    }
+
+    /**
+     * Constructs a {@link ConfigOption} for the given {@link RangedConfigEntry}.
+     * The {@code Identifier} is used to generate the text and tooltip
+     * translation keys for this option.
+     * If the step size makes more than 10000 steps, it is increased to make 10000 steps.
+     *
+     * @param identifier The {@code Identifier} for the configuration option
+     * @param config     The {@link RangedConfigEntry} associated with the option
+     * @param step       The difference between two consecutive values of the slider
+     */
+    public DoubleConfigOption(Identifier identifier, RangedConfigEntry<Double> config, double step) {
+        super(identifier, config);
+        double min = config.getMinValue();
+        double max = config.getMaxValue();
+        double range = max - min;
+        if (!(step > 0.0) && range > 0.0) {
+            throw new IllegalArgumentException("Step must be greater than 0 for option " + identifier);
+        }
+
+        int steps = range > 0.0 ? (int) Math.min(SteppedSliderCallbacks.MAX_STEPS, Math.ceil(range / step - 1.0E-9)) : 0;
+        this.step = steps > 0 ? Math.max(step, range / steps) : 1.0;
+        this.values = new Double[steps + 1];
+        for (int i = 0; i < steps; i++) {
+            values[i] = min + i * this.step;
+        }
+        values[steps] = max;
+        this.format = "%." + decimalsOf(this.step) + "f";
+    }
+
+    /**
+     * Overrides the {@link ConfigOption#getConfig()} method to provide a more specific return type.
+     *
+     * @return The {@link RangedConfigEntry} associated with the option
+     */
+    @Override
+    public RangedConfigEntry<Double> getConfig() {
+        return (RangedConfigEntry<Double>) super.getConfig();
+    }
+
+    /**
+     * Only writes the value to the config when the slider moves to a different step.
+     *
+     * @return The change callback
+     */
+    @Override
+    protected Consumer<Double> changeCallback() {
+        return value -> {
+            if (!value.equals(this.getConfig().getValue())) {
+                this.getConfig().setValue(value);
+            }
+        };
+    }
+
+    /**
+     * Converts the {@code DoubleConfigOption} to a {@code SimpleOption} representing a UI option for the double configuration.
+     *
+     * @return A new {@code SimpleOption} for the {@code DoubleConfigOption}
+     */
+    @Override
+    public SimpleOption<Double> asOption() {
+        SteppedSliderCallbacks<Double> callbacks = new SteppedSliderCallbacks<>(values, this::stepOf,
+                value -> String.format(Locale.ROOT, format, value),
+                Codec.DOUBLE);
+        return new SimpleOption<>(this.getTranslationKey(), this.getTooltip(),
+                callbacks::getText, callbacks,
+                this.getDefaultValue(), this.changeCallback());
+    }
+
+    /**
+     * Gets the step closest to a value. The last step can be shorter than the others,
+     * so the closest of the two steps around the value is chosen.
+     */
+    private int stepOf(double value) {
+        int step = (int) Math.max(0.0, Math.min(values.length - 1, Math.floor((value - values[0]) / this.step)));
+        if (step + 1 < values.length && values[step + 1] - value < value - values[step]) {
+            step++;
+        }
+        return step;
+    }
+
+    /**
+     * Gets the number of decimals needed to display the values of a step size, at most 6.
+     */
+    private static int decimalsOf(double step) {
+        int decimals = 0;
+        double scaled = step;
+        while (decimals < 6 && Math.abs(scaled - Math.rint(scaled)) > 1.0E-9 * Math.max(1.0, Math.abs(scaled))) {
+            scaled *= 10;
+            decimals++;
+        }
+        return decimals;
+    }
+
+}
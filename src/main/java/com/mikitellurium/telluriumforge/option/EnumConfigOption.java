@@ -1,12 +1,13 @@
 package com.mikitellurium.telluriumforge.option;
 
 import com.mikitellurium.telluriumforge.config.EnumConfigEntry;
+import com.mikitellurium.telluriumforge.util.EnumLookup;
 import com.mojang.serialization.Codec;
 import net.minecraft.client.option.SimpleOption;
 import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
 
-import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
 
 /**
@@ -23,6 +24,21 @@ public class EnumConfigOption<E extends Enum<E>> extends ConfigOption<E> {
      */
     private final Class<E> clazz;
 
+    /**
+     * The constants of the enum, in declaration order.
+     */
+    private final List<E> values;
+
+    /**
+     * The displayed text of each enum constant, indexed by ordinal.
+     */
+    private final Text[] valueTexts;
+
+    /**
+     * The codec used to save the option value.
+     */
+    private final Codec<E> codec;
+
     /**
      * Constructs a {@link ConfigOption} for the given {@link EnumConfigEntry}.
      * The {@code Identifier} is used to generate the text and tooltip
@@ -34,6 +50,13 @@ public class EnumConfigOption<E extends Enum<E>> extends ConfigOption<E> {
     public EnumConfigOption(Identifier identifier, EnumConfigEntry<E> config) {
         super(identifier, config);
         this.clazz = config.getEnumClass();
+        EnumLookup<E> lookup = EnumLookup.of(clazz);
+        this.values = lookup.values();
+        this.valueTexts = new Text[values.size()];
+        for (E constant : values) {
+            valueTexts[constant.ordinal()] = Text.literal(constant.name().toUpperCase(Locale.ROOT));
+        }
+        this.codec = Codec.STRING.xmap(lookup::get, lookup::lowerName);
     }
 
     /**
@@ -49,18 +72,13 @@ public class EnumConfigOption<E extends Enum<E>> extends ConfigOption<E> {
     /**
      * Converts the {@code EnumConfigOption} to a {@code SimpleOption} representing a UI option for the enum configuration.
      *
-     * @return The {@code SimpleOption} for the {@code EnumConfigOption}
+     * @return A new {@code SimpleOption} for the {@code EnumConfigOption}
      */
     @Override
     public SimpleOption<E> asOption() {
         return new SimpleOption<>(this.getTranslationKey(), this.getTooltip(),
-                (optionText, value) -> Text.literal(value.name().toUpperCase(Locale.ROOT)),
-                new SimpleOption.PotentialValuesBasedCallbacks<>(Arrays.asList(clazz.getEnumConstants()),
-                        Codec.STRING.xmap(
-                                string -> Arrays.stream(clazz.getEnumConstants())
-                                        .filter(e -> e.name().toLowerCase().equals(string)).findAny().orElse(null),
-                                newValue -> newValue.name().toLowerCase()
-                        )),
+                (optionText, value) -> valueTexts[value.ordinal()],
+                new SimpleOption.PotentialValuesBasedCallbacks<>(values, codec),
                 this.getDefaultValue(), this.changeCallback());
     }
 
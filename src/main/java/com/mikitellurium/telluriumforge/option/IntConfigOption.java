@@ -38,7 +38,7 @@ public class IntConfigOption extends ConfigOption<Integer> {
     /**
      * Converts the {@code IntConfigOption} to a {@code SimpleOption} representing a UI option for the integer configuration.
      *
-     * @return The {@code SimpleOption} for the {@code IntConfigOption}
+     * @return A new {@code SimpleOption} for the {@code IntConfigOption}
      */
     @Override
     public SimpleOption<Integer> asOption() {
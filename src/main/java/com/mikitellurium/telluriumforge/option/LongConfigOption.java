@@ -0,0 +1,130 @@
+package com.mikitellurium.telluriumforge.option;
+
+import com.mikitellurium.telluriumforge.config.RangedConfigEntry;
+import com.mojang.serialization.Codec;
+import net.minecraft.client.option.SimpleOption;
+import net.minecraft.util.Identifier;
+
+import java.util.function.Consumer;
+
+/**
+ * A concrete subclass of {@link ConfigOption} representing a long configuration option.
+ * {@code LongConfigOption} is specifically designed to work with {@link RangedConfigEntry}
+ * for long values and is displayed as a slider that moves in fixed steps.
+ */
+public class LongConfigOption extends ConfigOption<Long> {
+
+    /**
+     * The value of each step, from the minimum to the maximum value.
+     */
+    private final Long[] values;
+    private final long step;
+
+    /**
+     * Constructs a {@link ConfigOption} for the given {@link RangedConfigEntry}.
+     * The {@code Identifier} is used to generate the text and tooltip
+     * translation keys for this option.
+     * The slider moves by 1, or by the smallest step that makes at most 10000 steps.
+     *
+     * @param identifier The {@code Identifier} for the configuration option
+     * @param config     The {@link RangedConfigEntry} associated with the option
+     */
+    public LongConfigOption(Identifier identifier, RangedConfigEntry<Long> config) {
+        this(identifier, config, 1L);
+    }
+
+    /**
+     * Constructs a {@link ConfigOption} for the given {@link RangedConfigEntry}.
+     * The {@code Identifier} is used to generate the text and tooltip
+     * translation keys for this option.
+     * If the step size makes more than 10000 steps, it is increased to make 10000 steps.
+     *
+     * @param identifier The {@code Identifier} for the configuration option
+     * @param config     The {@link RangedConfigEntry} associated with the option
+     * @param step       The difference between two consecutive values of the slider
+     */
+    public LongConfigOption(Identifier identifier, RangedConfigEntry<Long> config, long step) {
+        super(identifier, config);
+        if (step <= 0L) {
+            throw new IllegalArgumentException("Step must be greater than 0 for option " + identifier);
+        }
+        long min = config.getMinValue();
+        long max = config.getMaxValue();
+        // The range can exceed Long.MAX_VALUE, so it is handled as unsigned
+        long range = max - min;
+        if (Long.compareUnsigned(stepsOf(range, step), SteppedSliderCallbacks.MAX_STEPS) > 0) {
+            step = Long.divideUnsigned(range, SteppedSliderCallbacks.MAX_STEPS) + 1L;
+        }
+        this.step = step;
+        int steps = (int) stepsOf(range, step);
+        this.values = new Long[steps + 1];
+        for (int i = 0; i < steps; i++) {
+            values[i] = min + i * step;
+        }
+        values[steps] = max;
+    }
+
+    /**
+     * Overrides the {@link ConfigOption#getConfig()} method to provide a more specific return type.
+     *
+     * @return The {@link RangedConfigEntry} associated with the option
+     */
+    @Override
+    public RangedConfigEntry<Long> getConfig() {
+        return (RangedConfigEntry<Long>) super.getConfig();
+    }
+
+    /**
+     * Only writes the value to the config when the slider moves to a different step.
+     *
+     * @return The change callback
+     */
+    @Override
+    protected Consumer<Long> changeCallback() {
+        return value -> {
+            if (!value.equals(this.getConfig().getValue())) {
+                this.getConfig().setValue(value);
+            }
+        };
+    }
+
+    /**
+     * Converts the {@code LongConfigOption} to a {@code SimpleOption} representing a UI option for the long configuration.
+     *
+     * @return A new {@code SimpleOption} for the {@code LongConfigOption}
+     */
+    @Override
+    public SimpleOption<Long> asOption() {
+        SteppedSliderCallbacks<Long> callbacks = new SteppedSliderCallbacks<>(values, this::stepOf,
+                String::valueOf,
+                Codec.LONG);
+        return new SimpleOption<>(this.getTranslationKey(), this.getTooltip(),
+                callbacks::getText, callbacks,
+                this.getDefaultValue(), this.changeCallback());
+    }
+
+    /**
+     * Gets the step closest to a value. The last step can be shorter than the others,
+     * so the closest of the two steps around the value is chosen.
+     */
+    private int stepOf(long value) {
+        long min = values[0];
+        if (value <= min) {
+            return 0;
+        }
+        int step = (int) Math.min(Long.divideUnsigned(value - min, this.step), values.length - 1);
+        if (step + 1 < values.length && Long.compareUnsigned(values[step + 1] - value, value - values[step]) < 0) {
+            step++;
+        }
+        return step;
+    }
+
+    /**
+     * Gets the number of steps needed to cover an unsigned range.
+     */
+    private static long stepsOf(long range, long step) {
+        long steps = Long.divideUnsigned(range, step);
+        return Long.remainderUnsigned(range, step) != 0L ? steps + 1L : steps;
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.mikitellurium.telluriumforge.option;
+
+import com.mojang.serialization.Codec;
+import net.minecraft.client.option.GameOptions;
+import net.minecraft.client.option.SimpleOption;
+import net.minecraft.text.Text;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Slider callbacks that snap the value to a precomputed table of steps.
+ * <p>
+ * Every step value is boxed once when the table is built and its displayed text is
+ * built the first time the step is shown, so dragging the slider doesn't allocate.
+ * Since the slider only produces values from the table, the option value and the
+ * change callback only change when the slider moves to a different step.
+ *
+ * @param <N> The type of the option value
+ */
+final class SteppedSliderCallbacks<N extends Number> implements SimpleOption.SliderCallbacks<N> {
+
+    /**
+     * The maximum number of steps of a slider, more steps can't be selected with the mouse anyway.
+     */
+    static final int MAX_STEPS = 10_000;
+
+    private final N[] values;
+    private final ToIntFunction<N> stepOf;
+    private final Function<N, String> formatter;
+    private final Codec<N> codec;
+    private final Text[] texts;
+    private Text optionText;
+
+    /**
+     * @param values    The value of each step, in ascending order
+     * @param stepOf    Gets the step closest to a value
+     * @param formatter Formats the value of a step for display
+     * @param codec     The codec of the value
+     */
+    SteppedSliderCallbacks(N[] values, ToIntFunction<N> stepOf, Function<N, String> formatter, Codec<N> codec) {
+        this.values = values;
+        this.stepOf = stepOf;
+        this.formatter = formatter;
+        this.codec = codec;
+        this.texts = new Text[values.length];
+    }
+
+    /**
+     * Gets the displayed text of a value, building it the first time its step is shown.
+     */
+    Text getText(Text optionText, N value) {
+        if (this.optionText != optionText) {
+            this.optionText = optionText;
+            Arrays.fill(texts, null);
+        }
+        int step = this.step(value);
+        Text text = texts[step];
+        if (text == null) {
+            text = GameOptions.getGenericValueText(optionText, Text.literal(formatter.apply(values[step])));
+            texts[step] = text;
+        }
+        return text;
+    }
+
+    private int step(N value) {
+        return Math.max(0, Math.min(values.length - 1, stepOf.applyAsInt(value)));
+    }
+
+    @Override
+    public double toSliderProgress(N value) {
+        return values.length == 1 ? 0.0 : (double) this.step(value) / (values.length - 1);
+    }
+
+    @Override
+    public N toValue(double sliderProgress) {
+        return values[(int) Math.round(sliderProgress * (values.length - 1))];
+    }
+
+    @Override
+    public Optional<N> validate(N value) {
+        return Optional.of(values[this.step(value)]);
+    }
+
+    @Override
+    public Codec<N> codec() {
+        return codec;
+    }
+
+}
@@ -0,0 +1,235 @@
+package com.mikitellurium.telluriumforge.registry;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.block.Block;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.BlockEntityType;
+import net.minecraft.client.gui.screen.ingame.HandledScreen;
+import net.minecraft.client.gui.screen.ingame.HandledScreens;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
+import net.minecraft.item.BlockItem;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemGroup;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.Registry;
+import net.minecraft.screen.ScreenHandler;
+import net.minecraft.screen.ScreenHandlerType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A registry that defines its entries up front and builds them later.
+ * <p>
+ * Every definition method immediately returns a {@link RegistryRef} that can be stored
+ * in a static field, while the object is only constructed and registered when
+ * {@link #register()} is called. Client only entries, like handled screens, are
+ * only constructed when {@link #registerClient()} is called from the client entrypoint,
+ * so their classes are never loaded on a dedicated server.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * public static final DeferredRegistry REGISTRY = new DeferredRegistry(new RegistryHelper("example"));
+ *
+ * public static final RegistryRef<Block> EXAMPLE_BLOCK =
+ *         REGISTRY.blockWithItem("example_block", () -> new Block(AbstractBlock.Settings.create()));
+ * public static final RegistryRef<ScreenHandlerType<ExampleScreenHandler>> EXAMPLE_HANDLER =
+ *         REGISTRY.screenHandler("example", () -> new ScreenHandlerType<>(ExampleScreenHandler::new, FeatureSet.empty()));
+ *
+ * static {
+ *     REGISTRY.handledScreen(EXAMPLE_HANDLER, () -> ExampleScreen::new);
+ * }
+ *
+ * // During mod initialization
+ * REGISTRY.register();
+ * // During client initialization
+ * REGISTRY.registerClient();
+ * }</pre>
+ */
+public class DeferredRegistry {
+
+    private final RegistryHelper helper;
+    /**
+     * The registrations that run on both sides, in definition order.
+     */
+    private final List<Runnable> entries = new ArrayList<>();
+    /**
+     * The registrations that only run on the client, in definition order.
+     */
+    private final List<Runnable> clientEntries = new ArrayList<>();
+    private boolean registered = false;
+    private boolean clientRegistered = false;
+
+    /**
+     * Constructs a new {@code DeferredRegistry} that registers its entries
+     * using the specified {@link RegistryHelper}.
+     *
+     * @param helper The {@link RegistryHelper} used to create the entries {@code Identifier}
+     */
+    public DeferredRegistry(RegistryHelper helper) {
+        this.helper = helper;
+    }
+
+    /**
+     * Gets the {@link RegistryHelper} used by this registry.
+     *
+     * @return The {@link RegistryHelper} of this registry
+     */
+    public RegistryHelper getHelper() {
+        return helper;
+    }
+
+    /**
+     * Defines an object to register in the specified registry.
+     *
+     * @param registry The registry the object is registered in
+     * @param path     The path of the object
+     * @param factory  The factory that creates the object
+     * @return A {@link RegistryRef} for the object
+     * @param <V> The type of the registry entries
+     * @param <T> The type of the object
+     */
+    public <V, T extends V> RegistryRef<T> define(Registry<V> registry, String path, Supplier<T> factory) {
+        RegistryRef<T> ref = new RegistryRef<>(helper.modIdentifier(path));
+        entries.add(() -> ref.set(helper.register(registry, ref.getId(), factory.get())));
+        return ref;
+    }
+
+    /**
+     * Defines a block.
+     *
+     * @param path    The path of the block
+     * @param factory The factory that creates the block
+     * @return A {@link RegistryRef} for the block
+     * @param <B> The type of the block
+     */
+    public <B extends Block> RegistryRef<B> block(String path, Supplier<B> factory) {
+        return define(Registries.BLOCK, path, factory);
+    }
+
+    /**
+     * Defines a block with its corresponding {@link BlockItem}.
+     *
+     * @param path    The path of the block and the item
+     * @param factory The factory that creates the block
+     * @return A {@link RegistryRef} for the block
+     * @param <B> The type of the block
+     */
+    public <B extends Block> RegistryRef<B> blockWithItem(String path, Supplier<B> factory) {
+        RegistryRef<B> block = block(path, factory);
+        item(path, () -> new BlockItem(block.get(), new Item.Settings()));
+        return block;
+    }
+
+    /**
+     * Defines an item.
+     *
+     * @param path    The path of the item
+     * @param factory The factory that creates the item
+     * @return A {@link RegistryRef} for the item
+     * @param <I> The type of the item
+     */
+    public <I extends Item> RegistryRef<I> item(String path, Supplier<I> factory) {
+        return define(Registries.ITEM, path, factory);
+    }
+
+    /**
+     * Defines a block entity type.
+     *
+     * @param path    The path of the block entity
+     * @param factory The factory that creates the block entity type
+     * @return A {@link RegistryRef} for the block entity type
+     * @param <T> The type of the block entity
+     */
+    public <T extends BlockEntity> RegistryRef<BlockEntityType<T>> blockEntity(String path, Supplier<BlockEntityType<T>> factory) {
+        return define(Registries.BLOCK_ENTITY_TYPE, path, factory);
+    }
+
+    /**
+     * Defines an item group.
+     *
+     * @param path    The path of the item group
+     * @param factory The factory that creates the item group
+     * @return A {@link RegistryRef} for the item group
+     */
+    public RegistryRef<ItemGroup> itemGroup(String path, Supplier<ItemGroup> factory) {
+        return define(Registries.ITEM_GROUP, path, factory);
+    }
+
+    /**
+     * Defines an entity type.
+     *
+     * @param path    The path of the entity type
+     * @param factory The factory that creates the entity type
+     * @return A {@link RegistryRef} for the entity type
+     * @param <T> The type of the entity
+     */
+    public <T extends Entity> RegistryRef<EntityType<T>> entity(String path, Supplier<EntityType<T>> factory) {
+        return define(Registries.ENTITY_TYPE, path, factory);
+    }
+
+    /**
+     * Defines a screen handler type.
+     *
+     * @param path    The path of the screen handler
+     * @param factory The factory that creates the screen handler type
+     * @return A {@link RegistryRef} for the screen handler type
+     * @param <H> The type of the screen handler
+     */
+    public <H extends ScreenHandler> RegistryRef<ScreenHandlerType<H>> screenHandler(String path, Supplier<ScreenHandlerType<H>> factory) {
+        return define(Registries.SCREEN_HANDLER, path, factory);
+    }
+
+    /**
+     * Defines a handled screen for a screen handler type. The screen is only
+     * registered when {@link #registerClient()} is called.
+     *
+     * @param type   The {@link RegistryRef} of the screen handler type
+     * @param screen Supplies the {@link HandledScreens.Provider} of the screen
+     * @param <H> The type of the screen handler
+     * @param <S> The type of the handled screen
+     */
+    public <H extends ScreenHandler, S extends HandledScreen<H>> void handledScreen(RegistryRef<ScreenHandlerType<H>> type,
+                                                                                   Supplier<HandledScreens.Provider<H, S>> screen) {
+        clientEntries.add(() -> helper.registerHandledScreen(type.get(), screen.get()));
+    }
+
+    /**
+     * Builds and registers every common entry, in definition order.
+     * This should be called during mod initialization.
+     *
+     * @throws IllegalStateException if the entries were already registered
+     */
+    public void register() {
+        if (registered) {
+            throw new IllegalStateException("Registry entries for \"" + helper.modId() + "\" are already registered");
+        }
+        entries.forEach(Runnable::run);
+        entries.clear();
+        registered = true;
+    }
+
+    /**
+     * Builds and registers every client only entry, in definition order.
+     * This should be called during client initialization, after {@link #register()}.
+     *
+     * @throws IllegalStateException if called on a dedicated server, before {@link #register()}
+     *                               or if the client entries were already registered
+     */
+    public void registerClient() {
+        if (FabricLoader.getInstance().getEnvironmentType() != EnvType.CLIENT) {
+            throw new IllegalStateException("Client registry entries can only be registered on the client");
+        } else if (!registered) {
+            throw new IllegalStateException("Common registry entries must be registered before client entries");
+        } else if (clientRegistered) {
+            throw new IllegalStateException("Client registry entries for \"" + helper.modId() + "\" are already registered");
+        }
+        clientEntries.forEach(Runnable::run);
+        clientEntries.clear();
+        clientRegistered = true;
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.mikitellurium.telluriumforge.registry;
+
+import net.minecraft.util.Identifier;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A thread safe cache of {@code Identifier}s sharing the same namespace.
+ * <p>
+ * Repeated lookups of the same path return the same {@code Identifier} instance,
+ * skipping the path validation and the allocation. The cache is bounded: once it
+ * holds {@link #DEFAULT_MAX_SIZE} entries new paths are still resolved but not cached.
+ */
+public final class IdentifierCache {
+
+    /**
+     * The maximum number of {@code Identifier}s cached for a single namespace.
+     */
+    public static final int DEFAULT_MAX_SIZE = 4096;
+
+    private static final Map<String, IdentifierCache> NAMESPACES = new ConcurrentHashMap<>();
+    private static final IdentifierCache VANILLA = of(Identifier.DEFAULT_NAMESPACE);
+
+    private final String namespace;
+    private final int maxSize;
+    private final Map<String, Identifier> cache = new ConcurrentHashMap<>();
+
+    private IdentifierCache(String namespace, int maxSize) {
+        this.namespace = namespace;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the shared cache for the specified namespace.
+     *
+     * @param namespace The namespace of the cached {@code Identifier}s
+     * @return The {@code IdentifierCache} for the namespace
+     */
+    public static IdentifierCache of(String namespace) {
+        return NAMESPACES.computeIfAbsent(namespace, key -> new IdentifierCache(key, DEFAULT_MAX_SIZE));
+    }
+
+    /**
+     * Gets the shared cache for the "minecraft" namespace.
+     *
+     * @return The {@code IdentifierCache} for the "minecraft" namespace
+     */
+    public static IdentifierCache vanilla() {
+        return VANILLA;
+    }
+
+    /**
+     * Gets the namespace of this cache.
+     *
+     * @return The namespace of the cached {@code Identifier}s
+     */
+    public String getNamespace() {
+        return namespace;
+    }
+
+    /**
+     * Gets the {@code Identifier} with the namespace of this cache and the specified path,
+     * creating it if it isn't cached yet.
+     *
+     * @param path The path for the {@code Identifier}
+     * @return The cached {@code Identifier}
+     */
+    public Identifier get(String path) {
+        Identifier id = cache.get(path);
+        if (id == null) {
+            id = Identifier.of(namespace, path);
+            if (cache.size() < maxSize) {
+                Identifier previous = cache.putIfAbsent(path, id);
+                if (previous != null) {
+                    id = previous;
+                }
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Gets the number of cached {@code Identifier}s.
+     *
+     * @return The size of this cache
+     */
+    public int size() {
+        return cache.size();
+    }
+
+}
@@ -14,24 +14,36 @@ public interface IdentifierProvider {
      */
     String modId();
 
+    /**
+     * Gets the cache used to create the {@code Identifier}s with the mod id namespace.
+     * Implementations should override this to return a cache stored in a field.
+     *
+     * @return The {@link IdentifierCache} for the mod id
+     */
+    default IdentifierCache identifierCache() {
+        return IdentifierCache.of(this.modId());
+    }
+
     /**
      * Creates an {@code Identifier} using the mod id and the specified path.
+     * Repeated calls with the same path return the same cached instance.
      *
      * @param path The path for the {@code Identifier}
      * @return The created {@code Identifier}
      */
     default Identifier modIdentifier(String path) {
-        return Identifier.of(this.modId(), path);
+        return this.identifierCache().get(path);
     }
 
     /**
      * Creates an {@code Identifier} using the "minecraft" namespace and the specified path.
+     * Repeated calls with the same path return the same cached instance.
      *
      * @param path The path for the {@code Identifier}
      * @return The created {@code Identifier}
      */
     default Identifier mcIdentifier(String path) {
-        return Identifier.ofVanilla(path);
+        return IdentifierCache.vanilla().get(path);
     }
 
 }
@@ -27,6 +27,19 @@ public interface InitializedRegistry {
      * }
      * }</pre>
      * </p>
+     * <p>
+     * Registries with many entries can build them in parallel and still register them
+     * in a deterministic order using a {@link RegistrationBatch}:
+     * <pre>{@code
+     * @Override
+     * public void init(RegistryHelper helper) {
+     *     RegistrationBatch.Result result = helper.batch(DyeColor.values().length)
+     *             .blocksWithItems(List.of(DyeColor.values()), color -> color.getName() + "_bricks",
+     *                     color -> new Block(AbstractBlock.Settings.copy(Blocks.BRICKS)))
+     *             .parallel()
+     *             .register();
+     * }
+     * }</pre>
      *
      * @param registryHelper the {@link RegistryHelper} instance used to perform the initialization
      */
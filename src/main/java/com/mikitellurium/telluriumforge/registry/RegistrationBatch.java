@@ -0,0 +1,227 @@
+package com.mikitellurium.telluriumforge.registry;
+
+import com.mikitellurium.telluriumforge.TelluriumForge;
+import net.minecraft.block.Block;
+import net.minecraft.item.BlockItem;
+import net.minecraft.item.Item;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * A declarative table of blocks and items to register in a single pass.
+ * <p>
+ * Each entry is a path and a factory. When {@link #register()} is called
+ * every {@code Identifier} is created once, the objects are built and then
+ * registered in the same order they were added, blocks first and items after.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * RegistrationBatch.Result result = helper.batch(DyeColor.values().length)
+ *         .blocksWithItems(List.of(DyeColor.values()), color -> color.getName() + "_bricks",
+ *                 color -> new Block(AbstractBlock.Settings.copy(Blocks.BRICKS)))
+ *         .item("brick_hammer", () -> new Item(new Item.Settings()))
+ *         .register();
+ * Block redBricks = result.getBlock("red_bricks");
+ * }</pre>
+ */
+public class RegistrationBatch {
+
+    private final RegistryHelper helper;
+    private final List<BlockEntry> blocks;
+    private final List<ItemEntry> items;
+    private boolean parallel = false;
+
+    RegistrationBatch(RegistryHelper helper, int expectedSize) {
+        this.helper = helper;
+        this.blocks = new ArrayList<>(expectedSize);
+        this.items = new ArrayList<>(expectedSize);
+    }
+
+    /**
+     * Adds a block to this batch.
+     *
+     * @param path    The path of the block
+     * @param factory The factory that creates the block
+     * @return This batch for method chaining
+     */
+    public RegistrationBatch block(String path, Supplier<? extends Block> factory) {
+        blocks.add(new BlockEntry(path, factory, false));
+        return this;
+    }
+
+    /**
+     * Adds a block with its corresponding {@link BlockItem} to this batch.
+     *
+     * @param path    The path of the block and the item
+     * @param factory The factory that creates the block
+     * @return This batch for method chaining
+     */
+    public RegistrationBatch blockWithItem(String path, Supplier<? extends Block> factory) {
+        blocks.add(new BlockEntry(path, factory, true));
+        return this;
+    }
+
+    /**
+     * Adds a block with its corresponding {@link BlockItem} for each of the specified variants.
+     *
+     * @param variants The variants to register, for example the values of an enum
+     * @param path     Creates the path of the block for a variant
+     * @param factory  Creates the block for a variant
+     * @return This batch for method chaining
+     * @param <V> The type of the variants
+     */
+    public <V> RegistrationBatch blocksWithItems(Iterable<V> variants, Function<V, String> path, Function<V, ? extends Block> factory) {
+        for (V variant : variants) {
+            blockWithItem(path.apply(variant), () -> factory.apply(variant));
+        }
+        return this;
+    }
+
+    /**
+     * Adds an item to this batch.
+     *
+     * @param path    The path of the item
+     * @param factory The factory that creates the item
+     * @return This batch for method chaining
+     */
+    public RegistrationBatch item(String path, Supplier<? extends Item> factory) {
+        items.add(new ItemEntry(path, factory));
+        return this;
+    }
+
+    /**
+     * Makes this batch build its objects in parallel on the common {@link ForkJoinPool}.
+     * <p>
+     * Only the construction of the objects runs in parallel, the {@code Registry.register}
+     * calls are still made on the calling thread in the order the entries were added,
+     * so the registry raw ids are the same as when the batch is registered serially.
+     * The factories must not depend on each other or on shared mutable state.
+     *
+     * @return This batch for method chaining
+     */
+    public RegistrationBatch parallel() {
+        this.parallel = true;
+        return this;
+    }
+
+    /**
+     * Builds and registers every entry of this batch.
+     *
+     * @return The registered objects, by path
+     */
+    public Result register() {
+        Map<String, Block> registeredBlocks = new HashMap<>(capacity(blocks.size()));
+        Map<String, Item> registeredItems = new HashMap<>(capacity(blocks.size() + items.size()));
+
+        long start = System.nanoTime();
+        List<Block> builtBlocks = build(blocks, entry -> entry.factory().get());
+        List<BlockItemEntry> blockItems = new ArrayList<>(blocks.size());
+        for (int i = 0; i < blocks.size(); i++) {
+            BlockEntry entry = blocks.get(i);
+            Identifier id = helper.modIdentifier(entry.path());
+            Block block = helper.register(Registries.BLOCK, id, builtBlocks.get(i));
+            registeredBlocks.put(entry.path(), block);
+            if (entry.withItem()) {
+                blockItems.add(new BlockItemEntry(entry.path(), id, block));
+            }
+        }
+        long blocksTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        List<Item> builtBlockItems = build(blockItems, entry -> new BlockItem(entry.block(), new Item.Settings()));
+        List<Item> builtItems = build(items, entry -> entry.factory().get());
+        for (int i = 0; i < blockItems.size(); i++) {
+            BlockItemEntry entry = blockItems.get(i);
+            registeredItems.put(entry.path(), helper.register(Registries.ITEM, entry.id(), builtBlockItems.get(i)));
+        }
+        for (int i = 0; i < items.size(); i++) {
+            ItemEntry entry = items.get(i);
+            Item item = helper.register(Registries.ITEM, helper.modIdentifier(entry.path()), builtItems.get(i));
+            registeredItems.put(entry.path(), item);
+        }
+        long itemsTime = System.nanoTime() - start;
+
+        TelluriumForge.telluriumLogger().debug("[{}] Registered {} blocks in {} ms and {} items in {} ms{}",
+                helper.modId(), registeredBlocks.size(), blocksTime / 1_000_000.0,
+                registeredItems.size(), itemsTime / 1_000_000.0, parallel ? " (parallel)" : "");
+        return new Result(registeredBlocks, registeredItems);
+    }
+
+    /**
+     * Builds the objects of the specified entries, keeping the order of the entries.
+     */
+    @SuppressWarnings("unchecked")
+    private <E, T> List<T> build(List<E> entries, Function<E, ? extends T> factory) {
+        Object[] built = new Object[entries.size()];
+        if (parallel && built.length > 1) {
+            // Parallel streams run on the common ForkJoinPool
+            IntStream.range(0, built.length).parallel().forEach(i -> built[i] = factory.apply(entries.get(i)));
+        } else {
+            for (int i = 0; i < built.length; i++) {
+                built[i] = factory.apply(entries.get(i));
+            }
+        }
+        return (List<T>) Arrays.asList(built);
+    }
+
+    /**
+     * Returns a {@code HashMap} capacity that holds the specified number of
+     * entries without resizing.
+     */
+    private static int capacity(int size) {
+        return (int) (size / 0.75F) + 1;
+    }
+
+    private record BlockEntry(String path, Supplier<? extends Block> factory, boolean withItem) {}
+
+    private record BlockItemEntry(String path, Identifier id, Block block) {}
+
+    private record ItemEntry(String path, Supplier<? extends Item> factory) {}
+
+    /**
+     * The objects registered by a {@link RegistrationBatch}.
+     *
+     * @param blocks The registered blocks, by path
+     * @param items  The registered items, by path, including the block items
+     */
+    public record Result(Map<String, Block> blocks, Map<String, Item> items) {
+
+        public Result {
+            blocks = Collections.unmodifiableMap(blocks);
+            items = Collections.unmodifiableMap(items);
+        }
+
+        /**
+         * Gets the block registered with the specified path.
+         *
+         * @param path The path of the block
+         * @return The registered block or {@code null} if none was registered
+         */
+        public Block getBlock(String path) {
+            return blocks.get(path);
+        }
+
+        /**
+         * Gets the item registered with the specified path.
+         *
+         * @param path The path of the item
+         * @return The registered item or {@code null} if none was registered
+         */
+        public Item getItem(String path) {
+            return items.get(path);
+        }
+
+    }
+
+}
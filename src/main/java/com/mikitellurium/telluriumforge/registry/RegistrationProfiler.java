@@ -0,0 +1,211 @@
+package com.mikitellurium.telluriumforge.registry;
+
+import com.mikitellurium.telluriumforge.TelluriumForge;
+import net.minecraft.util.Identifier;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records how long the registration done through {@link RegistryHelper} takes.
+ * <p>
+ * The profiler is disabled by default and is enabled by starting the game with the
+ * {@code -Dtelluriumforge.profileRegistration=true} system property. When disabled every
+ * recording method returns immediately, so the instrumentation has no measurable cost.
+ * <p>
+ * For each {@link InitializedRegistry} the profiler records the time spent in
+ * {@link InitializedRegistry#init} and the memory allocated by it, and for each registry
+ * the number of registered objects and the time spent registering them. The report is
+ * logged once at the end of initialization, when the server starts loading its worlds
+ * ({@code SERVER_STARTING}) or when the client finishes starting ({@code CLIENT_STARTED}),
+ * whichever happens first.
+ */
+public final class RegistrationProfiler {
+
+    /**
+     * Whether the profiler is enabled.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("telluriumforge.profileRegistration");
+
+    private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+
+    private static final List<InitTiming> INITS = new ArrayList<>();
+    private static final Map<String, RegistryTiming> REGISTRIES = new LinkedHashMap<>();
+    private static boolean reported = false;
+
+    private RegistrationProfiler() {}
+
+    /**
+     * Gets the number of bytes allocated by the current thread, or {@code -1}
+     * if the JVM doesn't support allocation measurement.
+     *
+     * @return The allocated bytes of the current thread
+     */
+    static long allocatedBytes() {
+        if (THREAD_BEAN instanceof com.sun.management.ThreadMXBean bean && bean.isThreadAllocatedMemoryEnabled()) {
+            return bean.getCurrentThreadAllocatedBytes();
+        }
+        return -1L;
+    }
+
+    /**
+     * Records the initialization of an {@link InitializedRegistry}.
+     *
+     * @param modId          The mod id of the {@link RegistryHelper} used for initialization
+     * @param registry       The initialized registry
+     * @param nanos          The time spent in the initialization
+     * @param allocatedBytes The bytes allocated during the initialization, or {@code -1} if unknown
+     */
+    static synchronized void recordInit(String modId, InitializedRegistry registry, long nanos, long allocatedBytes) {
+        INITS.add(new InitTiming(modId, registry.getClass().getName(), nanos, allocatedBytes));
+    }
+
+    /**
+     * Records the registration of a single object.
+     *
+     * @param registry The id of the registry the object was registered in
+     * @param nanos    The time spent registering the object
+     */
+    static synchronized void recordRegistration(String registry, long nanos) {
+        REGISTRIES.computeIfAbsent(registry, RegistryTiming::new).add(nanos);
+    }
+
+    /**
+     * Records the registration of a single object.
+     *
+     * @param registry The id of the registry the object was registered in
+     * @param nanos    The time spent registering the object
+     */
+    static void recordRegistration(Identifier registry, long nanos) {
+        recordRegistration(registry.toString(), nanos);
+    }
+
+    /**
+     * Creates a report of everything recorded so far.
+     *
+     * @return The registration report
+     */
+    public static synchronized Report report() {
+        List<InitTiming> inits = new ArrayList<>(INITS);
+        inits.sort(Comparator.comparingLong(InitTiming::nanos).reversed());
+        List<RegistryTiming> registries = new ArrayList<>();
+        for (RegistryTiming timing : REGISTRIES.values()) {
+            registries.add(timing.copy());
+        }
+        registries.sort(Comparator.comparingLong(RegistryTiming::getTotalNanos).reversed());
+        return new Report(inits, registries);
+    }
+
+    /**
+     * Logs the report the first time it is called, if the profiler is enabled.
+     */
+    public static synchronized void logReport() {
+        if (!ENABLED || reported) {
+            return;
+        }
+        reported = true;
+        report().log();
+    }
+
+    /**
+     * The time and allocation of a single {@link InitializedRegistry#init} call.
+     *
+     * @param modId          The mod id of the {@link RegistryHelper} used for initialization
+     * @param registry       The class name of the initialized registry
+     * @param nanos          The time spent in the initialization
+     * @param allocatedBytes The bytes allocated during the initialization, or {@code -1} if unknown
+     */
+    public record InitTiming(String modId, String registry, long nanos, long allocatedBytes) {}
+
+    /**
+     * The number of objects registered in a registry and the time spent registering them.
+     */
+    public static final class RegistryTiming {
+
+        private final String registry;
+        private int count;
+        private long totalNanos;
+        private long maxNanos;
+
+        private RegistryTiming(String registry) {
+            this.registry = registry;
+        }
+
+        private void add(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        private RegistryTiming copy() {
+            RegistryTiming copy = new RegistryTiming(registry);
+            copy.count = count;
+            copy.totalNanos = totalNanos;
+            copy.maxNanos = maxNanos;
+            return copy;
+        }
+
+        /**
+         * @return the id of the registry
+         */
+        public String getRegistry() {
+            return registry;
+        }
+
+        /**
+         * @return the number of registered objects
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * @return the total time spent registering objects
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * @return the longest time spent registering a single object
+         */
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+    }
+
+    /**
+     * A snapshot of the recorded registration timings, slowest first.
+     *
+     * @param inits      The timings of each {@link InitializedRegistry}
+     * @param registries The timings of each registry
+     */
+    public record Report(List<InitTiming> inits, List<RegistryTiming> registries) {
+
+        /**
+         * Logs this report using the {@link TelluriumForge} logger.
+         */
+        public void log() {
+            TelluriumForge.telluriumLogger().info("Registration report: {} registry initializations, {} registries",
+                    inits.size(), registries.size());
+            for (InitTiming init : inits) {
+                TelluriumForge.telluriumLogger().info("  init [{}] {}: {} ms, {} KiB allocated",
+                        init.modId(), init.registry(), init.nanos() / 1_000_000.0,
+                        init.allocatedBytes() < 0 ? "?" : init.allocatedBytes() / 1024);
+            }
+            for (RegistryTiming registry : registries) {
+                TelluriumForge.telluriumLogger().info("  registry {}: {} entries, {} ms total, {} ms max",
+                        registry.getRegistry(), registry.getCount(), registry.getTotalNanos() / 1_000_000.0,
+                        registry.getMaxNanos() / 1_000_000.0);
+            }
+        }
+
+    }
+
+}
@@ -16,6 +16,10 @@ import net.minecraft.registry.RegistryKey;
 import net.minecraft.registry.tag.TagKey;
 import net.minecraft.screen.ScreenHandler;
 import net.minecraft.screen.ScreenHandlerType;
+import net.minecraft.util.Identifier;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The {@code RegistryHelper} class provides utility methods for registering various game elements
@@ -24,6 +28,11 @@ import net.minecraft.screen.ScreenHandlerType;
 public class RegistryHelper implements IdentifierProvider {
 
     private final String modId;
+    private final IdentifierCache identifierCache;
+    /**
+     * The tag keys created by this helper for each registry, each map bounded like the {@link IdentifierCache}.
+     */
+    private final Map<RegistryKey<?>, Map<String, TagKey<?>>> tagCache = new ConcurrentHashMap<>();
 
     /**
      * Constructs a new {@code RegistryHelper} with the specified mod id.
@@ -33,6 +42,7 @@ public class RegistryHelper implements IdentifierProvider {
      */
     public RegistryHelper(String modId) {
         this.modId = modId;
+        this.identifierCache = IdentifierCache.of(modId);
     }
 
     @Override
@@ -40,6 +50,11 @@ public class RegistryHelper implements IdentifierProvider {
         return this.modId;
     }
 
+    @Override
+    public IdentifierCache identifierCache() {
+        return this.identifierCache;
+    }
+
     /**
      * Initializes the given {@link InitializedRegistry} using the provided {@link RegistryHelper}.
      *
@@ -47,7 +62,51 @@ public class RegistryHelper implements IdentifierProvider {
      * @param registry the {@link InitializedRegistry} to initialize
      */
     public static void initRegistry(RegistryHelper helper, InitializedRegistry registry) {
+        if (!RegistrationProfiler.ENABLED) {
+            registry.init(helper);
+            return;
+        }
+        long allocated = RegistrationProfiler.allocatedBytes();
+        long start = System.nanoTime();
         registry.init(helper);
+        long nanos = System.nanoTime() - start;
+        RegistrationProfiler.recordInit(helper.modId(), registry, nanos,
+                allocated < 0 ? -1L : RegistrationProfiler.allocatedBytes() - allocated);
+    }
+
+    /**
+     * Registers an object in the specified registry, recording the time
+     * spent if the {@link RegistrationProfiler} is enabled.
+     */
+    <V, T extends V> T register(Registry<V> registry, Identifier id, T value) {
+        if (!RegistrationProfiler.ENABLED) {
+            return Registry.register(registry, id, value);
+        }
+        long start = System.nanoTime();
+        T registered = Registry.register(registry, id, value);
+        RegistrationProfiler.recordRegistration(registry.getKey().getValue(), System.nanoTime() - start);
+        return registered;
+    }
+
+    /**
+     * Creates a new {@link RegistrationBatch} used to register many blocks
+     * and items in a single pass.
+     *
+     * @return A new empty {@code RegistrationBatch}
+     */
+    public RegistrationBatch batch() {
+        return batch(16);
+    }
+
+    /**
+     * Creates a new {@link RegistrationBatch} used to register many blocks
+     * and items in a single pass.
+     *
+     * @param expectedSize The expected number of entries, used to pre-size the batch
+     * @return A new empty {@code RegistrationBatch}
+     */
+    public RegistrationBatch batch(int expectedSize) {
+        return new RegistrationBatch(this, expectedSize);
     }
 
     /**
@@ -58,7 +117,7 @@ public class RegistryHelper implements IdentifierProvider {
      * @return The registered block
      */
     public Block registerBlock(String path, Block block) {
-        return Registry.register(Registries.BLOCK, modIdentifier(path), block);
+        return register(Registries.BLOCK, modIdentifier(path), block);
     }
 
     /**
@@ -69,8 +128,9 @@ public class RegistryHelper implements IdentifierProvider {
      * @return The registered block
      */
     public Block registerBlockWithItem(String path, Block block) {
-        Block blockToReturn = registerBlock(path, block);
-        registerItem(path, new BlockItem(blockToReturn, new Item.Settings()));
+        Identifier id = modIdentifier(path);
+        Block blockToReturn = register(Registries.BLOCK, id, block);
+        register(Registries.ITEM, id, new BlockItem(blockToReturn, new Item.Settings()));
         return blockToReturn;
     }
 
@@ -82,7 +142,7 @@ public class RegistryHelper implements IdentifierProvider {
      * @return The registered item
      */
     public Item registerItem(String path, Item item) {
-        return Registry.register(Registries.ITEM, modIdentifier(path), item);
+        return register(Registries.ITEM, modIdentifier(path), item);
     }
 
     /**
@@ -93,7 +153,7 @@ public class RegistryHelper implements IdentifierProvider {
      * @return The registered block entity type
      */
     public <T extends BlockEntity> BlockEntityType<T> registerBlockEntity(String path, BlockEntityType<T> blockEntity) {
-        return Registry.register(Registries.BLOCK_ENTITY_TYPE, modIdentifier(path), blockEntity);
+        return register(Registries.BLOCK_ENTITY_TYPE, modIdentifier(path), blockEntity);
     }
 
     /**
@@ -104,7 +164,7 @@ public class RegistryHelper implements IdentifierProvider {
      * @return The registered item group
      */
     public ItemGroup registerItemGroup(String path, ItemGroup itemGroup) {
-        return Registry.register(Registries.ITEM_GROUP, modIdentifier(path), itemGroup);
+        return register(Registries.ITEM_GROUP, modIdentifier(path), itemGroup);
     }
 
     /**
@@ -115,7 +175,7 @@ public class RegistryHelper implements IdentifierProvider {
      * @return The registered entity type
      */
     public <T extends Entity> EntityType<T> registerEntity(String path, EntityType<T> entity) {
-        return Registry.register(Registries.ENTITY_TYPE, modIdentifier(path), entity);
+        return register(Registries.ENTITY_TYPE, modIdentifier(path), entity);
     }
 
 //    /**
@@ -131,6 +191,9 @@ public class RegistryHelper implements IdentifierProvider {
 
     /**
      * Registers a tag key with the game registry.
+     * Repeated calls with the same registry and path return the cached instance without
+     * allocating. At most {@link IdentifierCache#DEFAULT_MAX_SIZE} tag keys are cached for
+     * each registry, further paths are still resolved but not cached.
      *
      * @param <T>        The type of the tag
      * @param <R>        The type of the registry
@@ -138,8 +201,20 @@ public class RegistryHelper implements IdentifierProvider {
      * @param path        The path of the tag
      * @return The registered tag key
      */
+    @SuppressWarnings("unchecked")
     public <T, R extends Registry<T>> TagKey<T> registerTag(RegistryKey<R> tagRegistry, String path) {
-        return TagKey.of(tagRegistry, modIdentifier(path));
+        Map<String, TagKey<?>> tags = tagCache.computeIfAbsent(tagRegistry, key -> new ConcurrentHashMap<>());
+        TagKey<?> tag = tags.get(path);
+        if (tag == null) {
+            tag = TagKey.of(tagRegistry, modIdentifier(path));
+            if (tags.size() < IdentifierCache.DEFAULT_MAX_SIZE) {
+                TagKey<?> previous = tags.putIfAbsent(path, tag);
+                if (previous != null) {
+                    tag = previous;
+                }
+            }
+        }
+        return (TagKey<T>) tag;
     }
 
     /**
@@ -152,7 +227,7 @@ public class RegistryHelper implements IdentifierProvider {
      * @return The registered screen handler type
      */
     public <H extends ScreenHandler, T extends ScreenHandlerType<H>> ScreenHandlerType<H> registerScreenHandler(String path, T handler) {
-        return Registry.register(Registries.SCREEN_HANDLER, modIdentifier(path), handler);
+        return register(Registries.SCREEN_HANDLER, modIdentifier(path), handler);
     }
 
     /**
@@ -164,7 +239,13 @@ public class RegistryHelper implements IdentifierProvider {
      * @param screen  the {@link HandledScreens.Provider} that provides the corresponding handled screen
      */
     public <H extends ScreenHandler, S extends HandledScreen<H>> void registerHandledScreen(ScreenHandlerType<H> type, HandledScreens.Provider<H, S> screen) {
+        if (!RegistrationProfiler.ENABLED) {
+            HandledScreens.register(type, screen);
+            return;
+        }
+        long start = System.nanoTime();
         HandledScreens.register(type, screen);
+        RegistrationProfiler.recordRegistration("handled_screen", System.nanoTime() - start);
     }
 
 }
@@ -0,0 +1,61 @@
+package com.mikitellurium.telluriumforge.registry;
+
+import net.minecraft.util.Identifier;
+
+import java.util.function.Supplier;
+
+/**
+ * A lightweight holder for an object registered through a {@link DeferredRegistry}.
+ * <p>
+ * The holder is created when the entry is defined, but the object itself is only
+ * built when the {@code DeferredRegistry} is registered. Calling {@link #get()}
+ * before that throws an {@link IllegalStateException}.
+ *
+ * @param <T> The type of the registered object
+ */
+public class RegistryRef<T> implements Supplier<T> {
+
+    private final Identifier id;
+    private T value;
+
+    RegistryRef(Identifier id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the {@code Identifier} of the registered object.
+     *
+     * @return The {@code Identifier} of the registered object
+     */
+    public Identifier getId() {
+        return id;
+    }
+
+    /**
+     * Retrieves the registered object.
+     *
+     * @return The registered object
+     * @throws IllegalStateException if the object is not registered yet
+     */
+    @Override
+    public T get() {
+        if (value == null) {
+            throw new IllegalStateException("Registry entry \"" + id + "\" is not registered yet");
+        }
+        return value;
+    }
+
+    /**
+     * Checks if the object has been registered.
+     *
+     * @return true if the object is registered, otherwise false
+     */
+    public boolean isRegistered() {
+        return value != null;
+    }
+
+    void set(T value) {
+        this.value = value;
+    }
+
+}
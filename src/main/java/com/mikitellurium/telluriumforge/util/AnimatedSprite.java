@@ -0,0 +1,122 @@
+package com.mikitellurium.telluriumforge.util;
+
+/**
+ * A sequence of {@link SpriteRegion} frames shown one after another.
+ * <p>
+ * The frames are computed once, so getting the frame to draw is only an array lookup.
+ * Frames are usually laid out in a sprite sheet, in rows from left to right and top to
+ * bottom, like the vertical strips of animated textures:
+ * <pre>{@code
+ * AnimatedSprite BUBBLES = AnimatedSprite.ofSheet(BREWING_STAND_SPRITES, 185, 29, 12, 29, 7, 2);
+ * batch.draw(BUBBLES.getFrame(client.world.getTime()), x + 63, y + 14);
+ * }</pre>
+ */
+public class AnimatedSprite {
+
+    private final SpriteRegion[] frames;
+    private final int frameTime;
+
+    /**
+     * Constructs a new {@code AnimatedSprite}.
+     *
+     * @param frames    The frames, in order
+     * @param frameTime The number of ticks each frame is shown for
+     */
+    public AnimatedSprite(SpriteRegion[] frames, int frameTime) {
+        if (frames.length == 0) {
+            throw new IllegalArgumentException("An animated sprite needs at least one frame");
+        } else if (frameTime < 1) {
+            throw new IllegalArgumentException("Frame time must be at least 1");
+        }
+        this.frames = frames.clone();
+        this.frameTime = frameTime;
+    }
+
+    /**
+     * Creates an animated sprite from a vertical strip of frames that fills the texture of a sprite.
+     *
+     * @param sprite    The sprite whose texture holds the frames
+     * @param frameTime The number of ticks each frame is shown for
+     * @return The animated sprite
+     */
+    public static AnimatedSprite ofStrip(SimpleSprite sprite, int frameTime) {
+        return ofSheet(sprite, 0, 0, sprite.width(), sprite.width(), sprite.height() / sprite.width(), frameTime);
+    }
+
+    /**
+     * Creates an animated sprite from frames laid out in a sprite sheet, in rows from left
+     * to right and top to bottom starting at the specified position. A row ends when the
+     * next frame would not fit in the width of the texture.
+     *
+     * @param sprite      The sprite whose texture holds the frames
+     * @param u           The X-coordinate of the top-left corner of the first frame, in pixels
+     * @param v           The Y-coordinate of the top-left corner of the first frame, in pixels
+     * @param frameWidth  The width of each frame
+     * @param frameHeight The height of each frame
+     * @param frameCount  The number of frames
+     * @param frameTime   The number of ticks each frame is shown for
+     * @return The animated sprite
+     */
+    public static AnimatedSprite ofSheet(SimpleSprite sprite, int u, int v, int frameWidth, int frameHeight,
+                                         int frameCount, int frameTime) {
+        SpriteRegion[] frames = new SpriteRegion[frameCount];
+        int x = u;
+        int y = v;
+        for (int i = 0; i < frameCount; i++) {
+            if (x + frameWidth > sprite.width()) {
+                x = u;
+                y += frameHeight;
+            }
+            frames[i] = SpriteRegion.of(sprite, x, y, frameWidth, frameHeight);
+            x += frameWidth;
+        }
+        return new AnimatedSprite(frames, frameTime);
+    }
+
+    /**
+     * Gets the frame shown at the specified time. The animation loops.
+     *
+     * @param ticks The time in ticks, such as the world time
+     * @return The frame to draw
+     */
+    public SpriteRegion getFrame(long ticks) {
+        return frames[(int) Math.floorMod(ticks / frameTime, (long) frames.length)];
+    }
+
+    /**
+     * Gets the frame at the specified progress of the animation, which is useful for
+     * progress indicators made of frames.
+     *
+     * @param progress The progress, from {@code 0} to {@code 1}
+     * @return The frame to draw
+     */
+    public SpriteRegion getFrameAt(float progress) {
+        int frame = (int) (progress * frames.length);
+        return frames[Math.max(0, Math.min(frames.length - 1, frame))];
+    }
+
+    /**
+     * Gets a frame by its index.
+     *
+     * @param index The index of the frame
+     * @return The frame
+     */
+    public SpriteRegion getFrameByIndex(int index) {
+        return frames[index];
+    }
+
+    /**
+     * @return the number of frames
+     */
+    public int getFrameCount() {
+        return frames.length;
+    }
+
+    /**
+     * @return the number of ticks each frame is shown for
+     */
+    public int getFrameTime() {
+        return frameTime;
+    }
+
+}
@@ -0,0 +1,343 @@
+package com.mikitellurium.telluriumforge.util;
+
+import it.unimi.dsi.fastutil.longs.Long2DoubleOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Trackers of the last value synced to the clients for each block position.
+ * <p>
+ * Positions are packed with {@link BlockPos#asLong()} and stored in primitive open
+ * addressing maps, so tracking a value never boxes the position or the value. This
+ * makes it cheap to skip sync packets for values that didn't change:
+ * <pre>{@code
+ * private static final BlockPosSyncState.OfInt SYNCED_ENERGY = new BlockPosSyncState.OfInt();
+ *
+ * if (SYNCED_ENERGY.shouldSend(pos, energy)) {
+ *     world.getPlayers().forEach(player -> ServerPlayNetworking.send(player, new IntSyncPayload(pos, energy)));
+ * }
+ * }</pre>
+ * The trackers are not thread safe and should only be used from the server thread.
+ * Remember to {@link Tracker#remove(BlockPos) remove} the position when the block
+ * entity is removed, so the next block entity at the same position is synced.
+ */
+public class BlockPosSyncState {
+
+    /*
+     * The maps return these values for missing positions, so shouldSend can tell a new
+     * position from a changed value with the single lookup of put. Only a value equal to
+     * the sentinel needs a second lookup.
+     */
+    private static final int MISSING_INT = Integer.MIN_VALUE;
+    private static final long MISSING_LONG = Long.MIN_VALUE;
+    private static final long MISSING_DOUBLE_BITS = 0x7FF8DEAD0000BEEFL;
+
+    private BlockPosSyncState() {}
+
+    /**
+     * The operations shared by every tracker.
+     */
+    public interface Tracker {
+
+        /**
+         * Checks if a value was synced for the specified position.
+         *
+         * @param pos The position
+         * @return true if a value was synced for the position, otherwise false
+         */
+        default boolean contains(BlockPos pos) {
+            return contains(pos.asLong());
+        }
+
+        /**
+         * Checks if a value was synced for the specified packed position.
+         *
+         * @param pos The position packed with {@link BlockPos#asLong()}
+         * @return true if a value was synced for the position, otherwise false
+         */
+        boolean contains(long pos);
+
+        /**
+         * Forgets the value synced for the specified position.
+         *
+         * @param pos The position
+         */
+        default void remove(BlockPos pos) {
+            remove(pos.asLong());
+        }
+
+        /**
+         * Forgets the value synced for the specified packed position.
+         *
+         * @param pos The position packed with {@link BlockPos#asLong()}
+         */
+        void remove(long pos);
+
+        /**
+         * Forgets all the synced values.
+         */
+        void clear();
+
+        /**
+         * @return the number of tracked positions
+         */
+        int size();
+
+    }
+
+    /**
+     * Tracks {@code int} values.
+     */
+    public static class OfInt implements Tracker {
+
+        private final Long2IntOpenHashMap map;
+
+        /**
+         * Constructs a new {@code OfInt} tracker.
+         */
+        public OfInt() {
+            this(16);
+        }
+
+        /**
+         * Constructs a new {@code OfInt} tracker.
+         *
+         * @param expectedSize The expected number of tracked positions
+         */
+        public OfInt(int expectedSize) {
+            this.map = new Long2IntOpenHashMap(expectedSize);
+            this.map.defaultReturnValue(MISSING_INT);
+        }
+
+        /**
+         * Records the value of the specified position if it differs from the last synced one.
+         *
+         * @param pos   The position
+         * @param value The current value
+         * @return true if the value changed and should be sent, otherwise false
+         */
+        public boolean shouldSend(BlockPos pos, int value) {
+            return shouldSend(pos.asLong(), value);
+        }
+
+        /**
+         * Records the value of the specified packed position if it differs from the last synced one.
+         *
+         * @param pos   The position packed with {@link BlockPos#asLong()}
+         * @param value The current value
+         * @return true if the value changed and should be sent, otherwise false
+         */
+        public boolean shouldSend(long pos, int value) {
+            if (value != MISSING_INT) {
+                return map.put(pos, value) != value;
+            }
+            boolean tracked = map.containsKey(pos);
+            int previous = map.put(pos, value);
+            return !tracked || previous != value;
+        }
+
+        /**
+         * Gets the last value synced for the specified position.
+         *
+         * @param pos          The position
+         * @param defaultValue The value returned if nothing was synced for the position
+         * @return The last synced value, or the default value
+         */
+        public int get(BlockPos pos, int defaultValue) {
+            return map.getOrDefault(pos.asLong(), defaultValue);
+        }
+
+        @Override
+        public boolean contains(long pos) {
+            return map.containsKey(pos);
+        }
+
+        @Override
+        public void remove(long pos) {
+            map.remove(pos);
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+    }
+
+    /**
+     * Tracks {@code long} values.
+     */
+    public static class OfLong implements Tracker {
+
+        private final Long2LongOpenHashMap map;
+
+        /**
+         * Constructs a new {@code OfLong} tracker.
+         */
+        public OfLong() {
+            this(16);
+        }
+
+        /**
+         * Constructs a new {@code OfLong} tracker.
+         *
+         * @param expectedSize The expected number of tracked positions
+         */
+        public OfLong(int expectedSize) {
+            this.map = new Long2LongOpenHashMap(expectedSize);
+            this.map.defaultReturnValue(MISSING_LONG);
+        }
+
+        /**
+         * Records the value of the specified position if it differs from the last synced one.
+         *
+         * @param pos   The position
+         * @param value The current value
+         * @return true if the value changed and should be sent, otherwise false
+         */
+        public boolean shouldSend(BlockPos pos, long value) {
+            return shouldSend(pos.asLong(), value);
+        }
+
+        /**
+         * Records the value of the specified packed position if it differs from the last synced one.
+         *
+         * @param pos   The position packed with {@link BlockPos#asLong()}
+         * @param value The current value
+         * @return true if the value changed and should be sent, otherwise false
+         */
+        public boolean shouldSend(long pos, long value) {
+            if (value != MISSING_LONG) {
+                return map.put(pos, value) != value;
+            }
+            boolean tracked = map.containsKey(pos);
+            long previous = map.put(pos, value);
+            return !tracked || previous != value;
+        }
+
+        /**
+         * Gets the last value synced for the specified position.
+         *
+         * @param pos          The position
+         * @param defaultValue The value returned if nothing was synced for the position
+         * @return The last synced value, or the default value
+         */
+        public long get(BlockPos pos, long defaultValue) {
+            return map.getOrDefault(pos.asLong(), defaultValue);
+        }
+
+        @Override
+        public boolean contains(long pos) {
+            return map.containsKey(pos);
+        }
+
+        @Override
+        public void remove(long pos) {
+            map.remove(pos);
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+    }
+
+    /**
+     * Tracks {@code double} values. Values are compared by their bit pattern, so a
+     * {@code NaN} is equal to itself and {@code 0.0} differs from {@code -0.0}.
+     */
+    public static class OfDouble implements Tracker {
+
+        private final Long2DoubleOpenHashMap map;
+
+        /**
+         * Constructs a new {@code OfDouble} tracker.
+         */
+        public OfDouble() {
+            this(16);
+        }
+
+        /**
+         * Constructs a new {@code OfDouble} tracker.
+         *
+         * @param expectedSize The expected number of tracked positions
+         */
+        public OfDouble(int expectedSize) {
+            this.map = new Long2DoubleOpenHashMap(expectedSize);
+            this.map.defaultReturnValue(Double.longBitsToDouble(MISSING_DOUBLE_BITS));
+        }
+
+        /**
+         * Records the value of the specified position if it differs from the last synced one.
+         *
+         * @param pos   The position
+         * @param value The current value
+         * @return true if the value changed and should be sent, otherwise false
+         */
+        public boolean shouldSend(BlockPos pos, double value) {
+            return shouldSend(pos.asLong(), value);
+        }
+
+        /**
+         * Records the value of the specified packed position if it differs from the last synced one.
+         *
+         * @param pos   The position packed with {@link BlockPos#asLong()}
+         * @param value The current value
+         * @return true if the value changed and should be sent, otherwise false
+         */
+        public boolean shouldSend(long pos, double value) {
+            long bits = Double.doubleToRawLongBits(value);
+            if (bits != MISSING_DOUBLE_BITS) {
+                return Double.doubleToRawLongBits(map.put(pos, value)) != bits;
+            }
+            boolean tracked = map.containsKey(pos);
+            long previous = Double.doubleToRawLongBits(map.put(pos, value));
+            return !tracked || previous != bits;
+        }
+
+        /**
+         * Gets the last value synced for the specified position.
+         *
+         * @param pos          The position
+         * @param defaultValue The value returned if nothing was synced for the position
+         * @return The last synced value, or the default value
+         */
+        public double get(BlockPos pos, double defaultValue) {
+            return map.getOrDefault(pos.asLong(), defaultValue);
+        }
+
+        @Override
+        public boolean contains(long pos) {
+            return map.containsKey(pos);
+        }
+
+        @Override
+        public void remove(long pos) {
+            map.remove(pos);
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+    }
+
+}
@@ -5,6 +5,9 @@ import java.util.function.Supplier;
 
 /**
  * A simple utility class representing a cached object that can be either non-null or empty.
+ * <p>
+ * This is an immutable holder, see {@link CachedValue} for a value that is lazily
+ * computed and expires, and {@link KeyedCache} for a bounded cache of many values.
  *
  * @param <T> The type of the cached object
  */
@@ -34,19 +37,21 @@ public class CachedObject<T> implements Supplier<T> {
     /**
      * Static factory method to create a {@code CachedObject} with a specified object.
      *
+     * @param <T> The type of the cached object
      * @param obj The object to be cached
      * @return A {@code CachedObject} containing the specified object
      */
-    public static CachedObject<?> of(Object obj) {
+    public static <T> CachedObject<T> of(T obj) {
         return new CachedObject<>(obj);
     }
 
     /**
      * Static factory method to create an empty {@code CachedObject}.
      *
+     * @param <T> The type of the cached object
      * @return An empty {@code CachedObject}
      */
-    public static CachedObject<?> empty() {
+    public static <T> CachedObject<T> empty() {
         return new CachedObject<>();
     }
 
@@ -0,0 +1,107 @@
+package com.mikitellurium.telluriumforge.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A value that is computed lazily the first time it is requested and then
+ * cached until it expires or is invalidated.
+ * <p>
+ * The expiration is measured with a clock, which can be the system time or
+ * a tick counter such as {@code MinecraftServer#getTicks}:
+ * <pre>{@code
+ * CachedValue<List<BlockPos>> nearbyChests = CachedValue.expireAfterTicks(this::scanChests, 20, world.getServer()::getTicks);
+ * }</pre>
+ * The value is loaded at most once per expiration, even when requested from multiple threads.
+ *
+ * @param <T> The type of the cached value
+ */
+public class CachedValue<T> implements Supplier<T> {
+
+    private final Supplier<T> loader;
+    private final LongSupplier clock;
+    /**
+     * How long the value stays valid in clock units, or a negative value if it never expires.
+     */
+    private final long lifetime;
+    private T value;
+    private boolean loaded = false;
+    private long expiresAt;
+
+    private CachedValue(Supplier<T> loader, LongSupplier clock, long lifetime) {
+        this.loader = loader;
+        this.clock = clock;
+        this.lifetime = lifetime;
+    }
+
+    /**
+     * Creates a value that is computed once and never expires.
+     *
+     * @param <T>    The type of the cached value
+     * @param loader Computes the value
+     * @return A new {@code CachedValue}
+     */
+    public static <T> CachedValue<T> lazy(Supplier<T> loader) {
+        return new CachedValue<>(loader, () -> 0L, -1L);
+    }
+
+    /**
+     * Creates a value that is computed again once the specified time has passed since it was loaded.
+     *
+     * @param <T>      The type of the cached value
+     * @param loader   Computes the value
+     * @param duration How long the value stays valid
+     * @param unit     The unit of the duration
+     * @return A new {@code CachedValue}
+     */
+    public static <T> CachedValue<T> expireAfter(Supplier<T> loader, long duration, TimeUnit unit) {
+        return new CachedValue<>(loader, System::nanoTime, unit.toNanos(duration));
+    }
+
+    /**
+     * Creates a value that is computed again once the specified number of ticks has passed since it was loaded.
+     *
+     * @param <T>        The type of the cached value
+     * @param loader     Computes the value
+     * @param ticks      How many ticks the value stays valid
+     * @param tickSource Supplies the current tick
+     * @return A new {@code CachedValue}
+     */
+    public static <T> CachedValue<T> expireAfterTicks(Supplier<T> loader, long ticks, LongSupplier tickSource) {
+        return new CachedValue<>(loader, tickSource, ticks);
+    }
+
+    /**
+     * Retrieves the cached value, computing it if it isn't loaded or has expired.
+     *
+     * @return The cached value
+     */
+    @Override
+    public synchronized T get() {
+        if (!loaded || (lifetime >= 0 && clock.getAsLong() - expiresAt >= 0)) {
+            value = loader.get();
+            loaded = true;
+            expiresAt = clock.getAsLong() + lifetime;
+        }
+        return value;
+    }
+
+    /**
+     * Checks if the value is loaded and not expired.
+     *
+     * @return true if the next call to {@link #get()} won't compute the value, otherwise false
+     */
+    public synchronized boolean isValid() {
+        return loaded && (lifetime < 0 || clock.getAsLong() - expiresAt < 0);
+    }
+
+    /**
+     * Discards the cached value, so it is computed again the next time it is requested.
+     */
+    public synchronized void invalidate() {
+        value = null;
+        loaded = false;
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.mikitellurium.telluriumforge.util;
+
+import java.lang.reflect.Array;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A case-insensitive lookup table of the constants of an enum by name.
+ * <p>
+ * One table is built the first time {@link #of(Class)} is called for an enum class and is
+ * shared by every caller. Names are stored in an open addressing table hashed with their
+ * case-folded characters, so a lookup compares the name in place without lowercasing it
+ * or cloning the constants array, and doesn't allocate.
+ * <pre>{@code
+ * Direction direction = EnumLookup.of(Direction.class).get("north");
+ * }</pre>
+ * If two constants have the same name ignoring case, the one declared first is returned.
+ *
+ * @param <E> The type of the enum
+ */
+public final class EnumLookup<E extends Enum<E>> {
+
+    private static final ClassValue<EnumLookup<?>> LOOKUPS = new ClassValue<>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected EnumLookup<?> computeValue(Class<?> type) {
+            return new EnumLookup(type);
+        }
+    };
+
+    private final Class<E> enumClass;
+    private final List<E> values;
+    /**
+     * The lowercase name of each constant, indexed by ordinal.
+     */
+    private final String[] lowerNames;
+    private final E[] table;
+    private final int mask;
+
+    @SuppressWarnings("unchecked")
+    private EnumLookup(Class<E> enumClass) {
+        this.enumClass = enumClass;
+        E[] constants = enumClass.getEnumConstants();
+        this.values = List.of(constants);
+        this.lowerNames = new String[constants.length];
+        // Keep the table at most half full so probe sequences stay short
+        int capacity = Integer.highestOneBit(Math.max(constants.length, 1) * 4 - 1);
+        this.table = (E[]) Array.newInstance(enumClass, capacity);
+        this.mask = capacity - 1;
+        for (E constant : constants) {
+            lowerNames[constant.ordinal()] = constant.name().toLowerCase(Locale.ROOT);
+            int index = hash(constant.name()) & mask;
+            while (table[index] != null) {
+                if (table[index].name().equalsIgnoreCase(constant.name())) {
+                    break;
+                }
+                index = (index + 1) & mask;
+            }
+            if (table[index] == null) {
+                table[index] = constant;
+            }
+        }
+    }
+
+    /**
+     * Gets the shared lookup table of the specified enum class.
+     *
+     * @param <E>       The type of the enum
+     * @param enumClass The class of the enum
+     * @return The lookup table of the enum
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Enum<E>> EnumLookup<E> of(Class<E> enumClass) {
+        return (EnumLookup<E>) LOOKUPS.get(enumClass);
+    }
+
+    /**
+     * Gets the constant with the specified name, ignoring case.
+     *
+     * @param name The name of the constant
+     * @return The constant, or {@code null} if the enum has no constant with the name
+     */
+    public E get(String name) {
+        if (name == null) {
+            return null;
+        }
+        int index = hash(name) & mask;
+        E candidate;
+        while ((candidate = table[index]) != null) {
+            if (candidate.name().equalsIgnoreCase(name)) {
+                return candidate;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the constant with the specified name, ignoring case.
+     *
+     * @param name The name of the constant
+     * @return The constant
+     * @throws IllegalArgumentException if the enum has no constant with the name
+     */
+    public E getOrThrow(String name) {
+        E value = this.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("No constant " + name + " in enum " + enumClass.getName());
+        }
+        return value;
+    }
+
+    /**
+     * Gets the lowercase name of the specified constant, computed once when the table is built.
+     *
+     * @param value The constant
+     * @return The lowercase name of the constant
+     */
+    public String lowerName(E value) {
+        return lowerNames[value.ordinal()];
+    }
+
+    /**
+     * @return an unmodifiable list of the constants of the enum, in declaration order
+     */
+    public List<E> values() {
+        return values;
+    }
+
+    /**
+     * @return the class of the enum
+     */
+    public Class<E> getEnumClass() {
+        return enumClass;
+    }
+
+    /**
+     * Hashes the case-folded characters of a name, folding them the same
+     * way {@link String#equalsIgnoreCase(String)} compares them.
+     */
+    private static int hash(String name) {
+        int hash = 0;
+        for (int i = 0; i < name.length(); i++) {
+            hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(name.charAt(i)));
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+}
@@ -0,0 +1,253 @@
+package com.mikitellurium.telluriumforge.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.client.util.math.Rect2i;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A spatial index of rectangular regions, used to find the region under the mouse
+ * without testing every region.
+ * <p>
+ * The screen is divided into square cells and each region is stored in the cells it
+ * overlaps, so a lookup only tests the regions of the cell under the mouse. Regions use
+ * the same inclusive bounds as {@link MouseUtils#isAboveArea(double, double, Rect2i)}.
+ * When regions overlap, the one added last is considered on top.
+ * <pre>{@code
+ * HitTestGrid<Slot> slots = new HitTestGrid<>(18);
+ * for (Slot slot : handler.slots) {
+ *     slots.put(slot, new Rect2i(x + slot.x, y + slot.y, 16, 16));
+ * }
+ * Slot hovered = slots.find(mouseX, mouseY);
+ * }</pre>
+ * Regions can be moved with {@link #put(Object, Rect2i)}, which only updates the cells
+ * that the region entered or left.
+ *
+ * @param <T> The type of the objects the regions belong to
+ */
+public class HitTestGrid<T> {
+
+    private final int cellSize;
+    private final Long2ObjectOpenHashMap<List<Region<T>>> cells = new Long2ObjectOpenHashMap<>();
+    private final Map<T, Region<T>> regions = new HashMap<>();
+    private int nextOrder = 0;
+
+    /**
+     * Constructs a new {@code HitTestGrid}.
+     *
+     * @param cellSize The size of the cells, ideally close to the size of the typical region
+     */
+    public HitTestGrid(int cellSize) {
+        if (cellSize < 1) {
+            throw new IllegalArgumentException("Cell size must be at least 1");
+        }
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Adds the region of an object, or moves it if the object already has a region.
+     * A moved region keeps its position in the drawing order.
+     *
+     * @param key  The object the region belongs to
+     * @param area The area of the region, copied so it can be reused by the caller
+     */
+    public void put(T key, Rect2i area) {
+        this.put(key, area.getX(), area.getY(), area.getWidth(), area.getHeight());
+    }
+
+    /**
+     * Adds the region of an object, or moves it if the object already has a region.
+     * A moved region keeps its position in the drawing order.
+     *
+     * @param key    The object the region belongs to
+     * @param x      The X-coordinate of the top-left corner of the region
+     * @param y      The Y-coordinate of the top-left corner of the region
+     * @param width  The width of the region
+     * @param height The height of the region
+     */
+    public void put(T key, int x, int y, int width, int height) {
+        int minCellX = this.cellOf(x);
+        int minCellY = this.cellOf(y);
+        int maxCellX = this.cellOf(x + width);
+        int maxCellY = this.cellOf(y + height);
+        Region<T> region = regions.get(key);
+        if (region == null) {
+            region = new Region<>(key, nextOrder++);
+            regions.put(key, region);
+            region.setBounds(x, y, width, height);
+            region.setCells(minCellX, minCellY, maxCellX, maxCellY);
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                    this.link(region, cellX, cellY);
+                }
+            }
+            return;
+        }
+
+        // Only touch the cells that the region left or entered
+        for (int cellX = region.minCellX; cellX <= region.maxCellX; cellX++) {
+            for (int cellY = region.minCellY; cellY <= region.maxCellY; cellY++) {
+                if (cellX < minCellX || cellX > maxCellX || cellY < minCellY || cellY > maxCellY) {
+                    this.unlink(region, cellX, cellY);
+                }
+            }
+        }
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                if (!region.coversCell(cellX, cellY)) {
+                    this.link(region, cellX, cellY);
+                }
+            }
+        }
+        region.setBounds(x, y, width, height);
+        region.setCells(minCellX, minCellY, maxCellX, maxCellY);
+    }
+
+    /**
+     * Removes the region of an object.
+     *
+     * @param key The object the region belongs to
+     * @return true if the object had a region, otherwise false
+     */
+    public boolean remove(T key) {
+        Region<T> region = regions.remove(key);
+        if (region != null) {
+            this.unlink(region);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes all the regions.
+     */
+    public void clear() {
+        cells.clear();
+        regions.clear();
+        nextOrder = 0;
+    }
+
+    /**
+     * @return the number of regions in this grid
+     */
+    public int size() {
+        return regions.size();
+    }
+
+    /**
+     * Finds the topmost region under the specified mouse coordinates.
+     *
+     * @param mouseX The X-coordinate of the mouse
+     * @param mouseY The Y-coordinate of the mouse
+     * @return The object of the topmost region under the mouse, or {@code null} if there is none
+     */
+    public T find(double mouseX, double mouseY) {
+        List<Region<T>> candidates = cells.get(pack(this.cellOf(mouseX), this.cellOf(mouseY)));
+        if (candidates == null) {
+            return null;
+        }
+        Region<T> found = null;
+        for (int i = 0, size = candidates.size(); i < size; i++) {
+            Region<T> region = candidates.get(i);
+            if ((found == null || region.order > found.order) && region.contains(mouseX, mouseY)) {
+                found = region;
+            }
+        }
+        return found != null ? found.key : null;
+    }
+
+    /**
+     * Finds all the regions under the specified mouse coordinates, in no particular order.
+     *
+     * @param mouseX The X-coordinate of the mouse
+     * @param mouseY The Y-coordinate of the mouse
+     * @param action The action to perform on the object of each region under the mouse
+     */
+    public void findAll(double mouseX, double mouseY, Consumer<T> action) {
+        List<Region<T>> candidates = cells.get(pack(this.cellOf(mouseX), this.cellOf(mouseY)));
+        if (candidates != null) {
+            for (int i = 0, size = candidates.size(); i < size; i++) {
+                Region<T> region = candidates.get(i);
+                if (region.contains(mouseX, mouseY)) {
+                    action.accept(region.key);
+                }
+            }
+        }
+    }
+
+    private void unlink(Region<T> region) {
+        for (int cellX = region.minCellX; cellX <= region.maxCellX; cellX++) {
+            for (int cellY = region.minCellY; cellY <= region.maxCellY; cellY++) {
+                this.unlink(region, cellX, cellY);
+            }
+        }
+    }
+
+    private void link(Region<T> region, int cellX, int cellY) {
+        cells.computeIfAbsent(pack(cellX, cellY), cell -> new ArrayList<>(4)).add(region);
+    }
+
+    private void unlink(Region<T> region, int cellX, int cellY) {
+        long cell = pack(cellX, cellY);
+        List<Region<T>> list = cells.get(cell);
+        if (list != null) {
+            list.remove(region);
+            if (list.isEmpty()) {
+                cells.remove(cell);
+            }
+        }
+    }
+
+    private int cellOf(int coordinate) {
+        return Math.floorDiv(coordinate, cellSize);
+    }
+
+    private int cellOf(double coordinate) {
+        return Math.floorDiv((int) Math.floor(coordinate), cellSize);
+    }
+
+    private static long pack(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+    }
+
+    private static final class Region<T> {
+
+        private final T key;
+        private final int order;
+        private int x, y, width, height;
+        private int minCellX, minCellY, maxCellX, maxCellY;
+
+        private Region(T key, int order) {
+            this.key = key;
+            this.order = order;
+        }
+
+        private void setBounds(int x, int y, int width, int height) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        private void setCells(int minCellX, int minCellY, int maxCellX, int maxCellY) {
+            this.minCellX = minCellX;
+            this.minCellY = minCellY;
+            this.maxCellX = maxCellX;
+            this.maxCellY = maxCellY;
+        }
+
+        private boolean coversCell(int cellX, int cellY) {
+            return cellX >= minCellX && cellX <= maxCellX && cellY >= minCellY && cellY <= maxCellY;
+        }
+
+        private boolean contains(double mouseX, double mouseY) {
+            return MouseUtils.isAboveArea(mouseX, mouseY, x, y, width, height);
+        }
+
+    }
+
+}
@@ -0,0 +1,303 @@
+package com.mikitellurium.telluriumforge.util;
+
+import com.mikitellurium.telluriumforge.metrics.Metrics;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Function;
+
+/**
+ * A bounded, thread safe cache that computes the value of each key with a loader function.
+ * <p>
+ * When the cache is full an entry is evicted using the chosen {@link Eviction} policy.
+ * Each key is computed only once even when it is requested from multiple threads at the
+ * same time: the first thread runs the loader and the others wait for its result. The
+ * loader runs outside the cache lock, so slow loads don't block lookups of other keys.
+ * <pre>{@code
+ * KeyedCache<Item, Optional<RecipeEntry<SmeltingRecipe>>> recipes =
+ *         new KeyedCache<>(256, KeyedCache.Eviction.LRU, item -> findRecipe(world, item));
+ * recipes.get(stack.getItem());
+ * }</pre>
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the cached values
+ */
+public class KeyedCache<K, V> {
+
+    private final int maxSize;
+    private final Eviction eviction;
+    private final Function<K, V> loader;
+    private final Map<K, Node<V>> map;
+    /**
+     * The keys grouped by access frequency, only used by the {@link Eviction#LFU} policy.
+     */
+    private final Map<Long, LinkedHashSet<K>> frequencies = new HashMap<>();
+    private long minFrequency = 0L;
+
+    private long hits = 0L;
+    private long misses = 0L;
+    private long evictions = 0L;
+
+    /**
+     * Constructs a new {@code KeyedCache}.
+     *
+     * @param maxSize  The maximum number of cached values
+     * @param eviction The policy used to choose the entry to evict when the cache is full
+     * @param loader   Computes the value of a key
+     */
+    public KeyedCache(int maxSize, Eviction eviction, Function<K, V> loader) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Max size must be at least 1");
+        }
+        this.maxSize = maxSize;
+        this.eviction = eviction;
+        this.loader = loader;
+        this.map = eviction == Eviction.LRU ? new LinkedHashMap<>(16, 0.75F, true) : new HashMap<>();
+    }
+
+    /**
+     * Gets the value of the specified key, computing it if it isn't cached.
+     *
+     * @param key The key
+     * @return The value of the key
+     * @throws RuntimeException if the loader throws while computing the value
+     * @throws IllegalStateException if the loader requests the key it is computing, directly or through other keys
+     */
+    public V get(K key) {
+        Node<V> node;
+        boolean load = false;
+        synchronized (this) {
+            node = map.get(key);
+            if (node != null) {
+                if (node.loadingThread == Thread.currentThread()) {
+                    // Waiting on our own task would block forever
+                    throw new IllegalStateException("Recursive load of cache key " + key);
+                }
+                hits++;
+                touch(key, node);
+            } else {
+                misses++;
+                node = new Node<>(new FutureTask<>(() -> loader.apply(key)));
+                node.loadingThread = Thread.currentThread();
+                if (map.size() >= maxSize) {
+                    evict();
+                }
+                map.put(key, node);
+                addFrequency(key, node);
+                load = true;
+            }
+        }
+
+        if (load) {
+            try {
+                node.task.run();
+            } finally {
+                node.loadingThread = null;
+            }
+        }
+        try {
+            return node.task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading cache key " + key, e);
+        } catch (ExecutionException e) {
+            invalidate(key, node);
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to load cache key " + key, e.getCause());
+        }
+    }
+
+    /**
+     * Gets the value of the specified key if it is cached and loaded,
+     * without computing it.
+     *
+     * @param key The key
+     * @return The cached value, or {@code null} if it isn't cached
+     */
+    public synchronized V getIfPresent(K key) {
+        Node<V> node = map.get(key);
+        if (node == null || !node.task.isDone()) {
+            misses++;
+            return null;
+        }
+        hits++;
+        touch(key, node);
+        try {
+            return node.task.get();
+        } catch (InterruptedException | ExecutionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Removes the value of the specified key from the cache.
+     *
+     * @param key The key
+     */
+    public synchronized void invalidate(K key) {
+        Node<V> node = map.remove(key);
+        if (node != null) {
+            removeFrequency(key, node);
+        }
+    }
+
+    /**
+     * Removes the specified node, if it is still the one cached for the key.
+     */
+    private synchronized void invalidate(K key, Node<V> node) {
+        if (map.get(key) == node) {
+            invalidate(key);
+        }
+    }
+
+    /**
+     * Removes all the values from the cache.
+     */
+    public synchronized void invalidateAll() {
+        map.clear();
+        frequencies.clear();
+        minFrequency = 0L;
+    }
+
+    /**
+     * @return the number of cached values
+     */
+    public synchronized int size() {
+        return map.size();
+    }
+
+    /**
+     * @return the number of lookups that found a cached value
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of lookups that didn't find a cached value
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return the number of values evicted because the cache was full
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return the ratio of lookups that found a cached value, or {@code 0} if there were no lookups
+     */
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * Registers gauges for the hit rate, size and evictions of this cache to {@link Metrics},
+     * named {@code <name>_hit_rate}, {@code <name>_size} and {@code <name>_evictions}.
+     * The gauges keep a reference to this cache until they are removed.
+     *
+     * @param name The prefix of the gauge names, a valid metric name such as {@code mymod_recipe_cache}
+     * @return This cache
+     */
+    public KeyedCache<K, V> registerMetrics(String name) {
+        Metrics.gauge(name + "_hit_rate", "Ratio of lookups that found a cached value", this::getHitRate);
+        Metrics.gauge(name + "_size", "Number of cached values", this::size);
+        Metrics.gauge(name + "_evictions", "Values evicted because the cache was full", this::getEvictions);
+        return this;
+    }
+
+    private void touch(K key, Node<V> node) {
+        // Access order is tracked by the LinkedHashMap for LRU
+        if (eviction == Eviction.LFU) {
+            removeFrequency(key, node);
+            node.frequency++;
+            addFrequency(key, node);
+        }
+    }
+
+    private void addFrequency(K key, Node<V> node) {
+        if (eviction == Eviction.LFU) {
+            frequencies.computeIfAbsent(node.frequency, frequency -> new LinkedHashSet<>()).add(key);
+            if (node.frequency < minFrequency || map.size() == 1) {
+                minFrequency = node.frequency;
+            }
+        }
+    }
+
+    private void removeFrequency(K key, Node<V> node) {
+        if (eviction == Eviction.LFU) {
+            LinkedHashSet<K> keys = frequencies.get(node.frequency);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    frequencies.remove(node.frequency);
+                    if (minFrequency == node.frequency) {
+                        minFrequency++;
+                    }
+                }
+            }
+        }
+    }
+
+    private void evict() {
+        K key;
+        if (eviction == Eviction.LRU) {
+            key = map.keySet().iterator().next();
+        } else {
+            LinkedHashSet<K> keys = frequencies.get(minFrequency);
+            if (keys == null) {
+                // The min frequency is stale after an invalidation, find the actual one
+                minFrequency = frequencies.keySet().stream().min(Long::compare).orElse(0L);
+                keys = frequencies.get(minFrequency);
+            }
+            Iterator<K> iterator = keys.iterator();
+            key = iterator.next();
+        }
+        invalidate(key);
+        evictions++;
+    }
+
+    /**
+     * The policy used to choose the entry to evict when the cache is full.
+     */
+    public enum Eviction {
+        /**
+         * Evicts the least recently used entry.
+         */
+        LRU,
+        /**
+         * Evicts the least frequently used entry, the oldest one if more entries have the same frequency.
+         */
+        LFU
+    }
+
+    /**
+     * A cached value, loaded by its task.
+     */
+    private static final class Node<V> {
+
+        private final FutureTask<V> task;
+        private long frequency = 1L;
+        /**
+         * The thread running the loader, used to detect a loader that requests its own key.
+         */
+        private volatile Thread loadingThread;
+
+        private Node(FutureTask<V> task) {
+            this.task = task;
+        }
+
+    }
+
+}
@@ -4,21 +4,96 @@ import com.mikitellurium.telluriumforge.TelluriumForge;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.network.ClientPlayerEntity;
 import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 public class LogUtils {
 
+    /**
+     * The limiter used by the chat messages that don't specify one: each message at most
+     * once per second and at most 5 messages per second.
+     */
+    private static final MessageLimiter DEFAULT_LIMITER = new MessageLimiter(1, TimeUnit.SECONDS, 5);
+
     /**
      * Send a chat message to the client if a client player is present.
      *
      * @param message The message to send to the client
      */
     public static void clientChatMessage(String message) {
+        clientChatMessage(Text.of(message));
+    }
+
+    /**
+     * Send a chat message to the client if a client player is present.
+     *
+     * @param message The message to send to the client
+     */
+    public static void clientChatMessage(Text message) {
         ClientPlayerEntity player = MinecraftClient.getInstance().player;
         if (player != null) {
-            player.sendMessage(Text.of(message));
+            player.sendMessage(message);
         } else {
-            TelluriumForge.logger().error("Could not send chat message: {}", message);
+            TelluriumForge.telluriumLogger().error("Could not send chat message: {}", message.getString());
+        }
+    }
+
+    /**
+     * Send a chat message to the client, unless the same message was sent less than a
+     * second ago or too many messages were sent in the last second. This is safe to call
+     * from tick and render code.
+     *
+     * @param key     The key that identifies the message
+     * @param message Builds the message, only called if the message is sent
+     * @see MessageLimiter
+     */
+    public static void clientChatMessage(String key, Supplier<Text> message) {
+        clientChatMessage(DEFAULT_LIMITER, key, message);
+    }
+
+    /**
+     * Send a chat message to the client, unless it is suppressed by the specified limiter.
+     * When a message is sent after some of its repeats were suppressed, the number of
+     * suppressed repeats is appended to it. The pending counts of the messages of the
+     * limiter that stopped repeating are sent with {@link #flushClientChatMessages(MessageLimiter)}.
+     *
+     * @param limiter The limiter that decides if the message is sent
+     * @param key     The key that identifies the message
+     * @param message Builds the message, only called if the message is sent
+     */
+    public static void clientChatMessage(MessageLimiter limiter, String key, Supplier<Text> message) {
+        int suppressed = limiter.acquire(key);
+        flushClientChatMessages(limiter);
+        if (suppressed == MessageLimiter.SUPPRESSED) {
+            return;
         }
+        Text text = message.get();
+        if (suppressed > 0) {
+            text = text.copy().append(Text.literal(" (" + suppressed + " repeats suppressed)").formatted(Formatting.GRAY));
+        }
+        clientChatMessage(text);
+    }
+
+    /**
+     * Send the number of suppressed repeats of the chat messages that stopped repeating.
+     * This is called every client tick by TelluriumForge for the chat messages that don't
+     * specify a limiter.
+     */
+    public static void flushClientChatMessages() {
+        flushClientChatMessages(DEFAULT_LIMITER);
+    }
+
+    /**
+     * Send the number of suppressed repeats of the chat messages of the specified limiter
+     * that stopped repeating.
+     *
+     * @param limiter The limiter of the messages
+     */
+    public static void flushClientChatMessages(MessageLimiter limiter) {
+        limiter.flush((key, suppressed) -> clientChatMessage(
+                Text.literal(suppressed + " repeats of \"" + key + "\" suppressed").formatted(Formatting.GRAY)));
     }
 
 }
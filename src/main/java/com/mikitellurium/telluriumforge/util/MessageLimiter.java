@@ -0,0 +1,233 @@
+package com.mikitellurium.telluriumforge.util;
+
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Limits how often repeated messages are sent to the chat or the log.
+ * <p>
+ * Every message has a key that identifies it. A message is suppressed if a message with
+ * the same key was sent less than a window ago, or if the maximum number of messages
+ * was already sent in the current window. Suppressed messages are counted, and the next
+ * message with the same key that goes through reports how many repeats were suppressed.
+ * If no message with the key goes through because the repeats stopped, {@link #flush}
+ * reports the pending count once a window has passed since the last repeat.
+ * Messages are built by a supplier, so suppressed messages are never formatted:
+ * <pre>{@code
+ * private static final MessageLimiter LIMITER = new MessageLimiter(5, TimeUnit.SECONDS, 10);
+ *
+ * LIMITER.log(LOGGER, Level.WARN, "missing_energy", () -> "Missing energy at " + pos);
+ * }</pre>
+ * See {@link LogUtils#clientChatMessage(MessageLimiter, String, Supplier)} to limit chat messages.
+ */
+public class MessageLimiter {
+
+    /**
+     * Returned by {@link #acquire(String)} when the message must be suppressed.
+     */
+    public static final int SUPPRESSED = -1;
+
+    /**
+     * The number of keys after which the keys that weren't used during the last window are forgotten.
+     * This is also the maximum number of forgotten keys whose suppressed count waits to be flushed.
+     */
+    private static final int PRUNE_THRESHOLD = 256;
+
+    private final long windowNanos;
+    private final int maxPerWindow;
+    private final Map<String, KeyState> states = new HashMap<>();
+    /**
+     * The suppressed counts of the pruned keys, waiting to be flushed.
+     */
+    private final List<Summary> pruned = new ArrayList<>();
+    /**
+     * The number of suppressed messages not reported yet, so flushing is free when it is zero.
+     */
+    private int pending = 0;
+    private long windowStart = System.nanoTime();
+    private int sentInWindow = 0;
+
+    /**
+     * Constructs a new {@code MessageLimiter}.
+     *
+     * @param window       How long a message with the same key is suppressed for after it is sent
+     * @param unit         The unit of the window
+     * @param maxPerWindow The maximum number of messages sent in a window, across all keys
+     */
+    public MessageLimiter(long window, TimeUnit unit, int maxPerWindow) {
+        if (maxPerWindow < 1) {
+            throw new IllegalArgumentException("Max messages per window must be at least 1");
+        }
+        this.windowNanos = unit.toNanos(window);
+        this.maxPerWindow = maxPerWindow;
+    }
+
+    /**
+     * Checks if the message with the specified key can be sent now, and records it as sent if it can.
+     *
+     * @param key The key of the message
+     * @return The number of repeats of the message suppressed since it was last sent,
+     * or {@link #SUPPRESSED} if the message must be suppressed
+     */
+    public synchronized int acquire(String key) {
+        long now = System.nanoTime();
+        KeyState state = states.get(key);
+        if (state == null) {
+            if (states.size() >= PRUNE_THRESHOLD) {
+                this.prune(now);
+            }
+            state = new KeyState();
+            states.put(key, state);
+        } else if (now - state.lastSent < windowNanos) {
+            state.lastSeen = now;
+            this.suppress(state);
+            return SUPPRESSED;
+        }
+        state.lastSeen = now;
+
+        if (now - windowStart >= windowNanos) {
+            windowStart = now;
+            sentInWindow = 0;
+        }
+        if (sentInWindow >= maxPerWindow) {
+            this.suppress(state);
+            return SUPPRESSED;
+        }
+        sentInWindow++;
+        state.lastSent = now;
+        int suppressed = state.suppressed;
+        state.suppressed = 0;
+        pending -= suppressed;
+        return suppressed;
+    }
+
+    private void suppress(KeyState state) {
+        state.suppressed++;
+        pending++;
+    }
+
+    /**
+     * Forgets the keys that weren't used during the last window, keeping their suppressed counts to be flushed.
+     */
+    private void prune(long now) {
+        Iterator<Map.Entry<String, KeyState>> iterator = states.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, KeyState> entry = iterator.next();
+            KeyState state = entry.getValue();
+            if (now - state.lastSeen < windowNanos) {
+                continue;
+            }
+            iterator.remove();
+            if (state.suppressed > 0) {
+                if (pruned.size() < PRUNE_THRESHOLD) {
+                    pruned.add(new Summary(entry.getKey(), state.suppressed));
+                } else {
+                    pending -= state.suppressed;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reports the suppressed repeats of the messages that weren't repeated during the last
+     * window, and resets their count. Call this periodically, for example every tick, so
+     * the end of a flood is always reported. This is cheap when nothing is pending.
+     *
+     * @param reporter Receives the key of each message and the number of its suppressed repeats
+     */
+    public void flush(ObjIntConsumer<String> reporter) {
+        List<Summary> summaries;
+        synchronized (this) {
+            if (pending == 0) {
+                return;
+            }
+            long now = System.nanoTime();
+            summaries = new ArrayList<>(pruned);
+            pruned.clear();
+            states.forEach((key, state) -> {
+                if (state.suppressed > 0 && now - state.lastSeen >= windowNanos) {
+                    summaries.add(new Summary(key, state.suppressed));
+                    state.suppressed = 0;
+                }
+            });
+            for (Summary summary : summaries) {
+                pending -= summary.suppressed();
+            }
+        }
+        // Report outside the lock, the reporter may send messages through this limiter
+        for (Summary summary : summaries) {
+            reporter.accept(summary.key(), summary.suppressed());
+        }
+    }
+
+    /**
+     * Logs the suppressed repeats of the messages that weren't repeated during the last window.
+     *
+     * @param logger The logger
+     * @param level  The level of the summaries
+     * @see #flush(ObjIntConsumer)
+     */
+    public void flush(Logger logger, Level level) {
+        this.flush((key, suppressed) -> logger.atLevel(level).log("{} repeats of message \"{}\" suppressed", suppressed, key));
+    }
+
+    /**
+     * Logs a message if it isn't suppressed, and logs the pending suppressed counts of the
+     * messages that stopped repeating with {@link #flush(Logger, Level)}.
+     *
+     * @param logger  The logger
+     * @param level   The level of the message
+     * @param key     The key of the message
+     * @param message Builds the message, only called if the message is logged
+     * @return true if the message was logged, otherwise false
+     */
+    public boolean log(Logger logger, Level level, String key, Supplier<String> message) {
+        if (!logger.isEnabledForLevel(level)) {
+            return false;
+        }
+        int suppressed = this.acquire(key);
+        this.flush(logger, level);
+        if (suppressed == SUPPRESSED) {
+            return false;
+        }
+        if (suppressed > 0) {
+            logger.atLevel(level).log("{} ({} repeats suppressed)", message.get(), suppressed);
+        } else {
+            logger.atLevel(level).log(message.get());
+        }
+        return true;
+    }
+
+    /**
+     * Forgets all the sent and suppressed messages.
+     */
+    public synchronized void reset() {
+        states.clear();
+        pruned.clear();
+        pending = 0;
+        sentInWindow = 0;
+    }
+
+    private static final class KeyState {
+
+        private long lastSent;
+        /**
+         * When the message was last sent or suppressed.
+         */
+        private long lastSeen;
+        private int suppressed = 0;
+
+    }
+
+    private record Summary(String key, int suppressed) {}
+
+}
@@ -4,6 +4,9 @@ import net.minecraft.client.util.math.Rect2i;
 
 /**
  * The {@code MouseUtils} class provides utility methods for handling mouse-related operations.
+ * <p>
+ * To find which of many areas is under the mouse, use a {@link HitTestGrid} instead of
+ * testing every area.
  */
 public class MouseUtils {
 
@@ -0,0 +1,211 @@
+package com.mikitellurium.telluriumforge.util;
+
+import com.mikitellurium.telluriumforge.TelluriumForge;
+import com.mojang.blaze3d.systems.RenderSystem;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.texture.NativeImage;
+import net.minecraft.client.texture.NativeImageBackedTexture;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.util.Identifier;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A texture made at runtime by stitching the textures of many {@link SimpleSprite}s together.
+ * <p>
+ * A {@link SpriteBatch} that uses an atlas draws the stitched sprites from the atlas
+ * texture, so sprites that have different textures are drawn with a single texture
+ * bind and a single buffer:
+ * <pre>{@code
+ * SpriteAtlas atlas = SpriteAtlas.stitch(Identifier.of(MOD_ID, "gui_atlas"), List.of(FLAME, ARROW, BUBBLES));
+ * SpriteBatch batch = new SpriteBatch(atlas);
+ * }</pre>
+ * The atlas holds a copy of the textures, so it should be stitched again after the
+ * resources are reloaded. It must be created on the render thread.
+ */
+public class SpriteAtlas {
+
+    private final Identifier texture;
+    private final int width;
+    private final int height;
+    /**
+     * The region of the atlas that holds each stitched texture.
+     */
+    private final Map<Identifier, SpriteRegion> regions;
+
+    private SpriteAtlas(Identifier texture, int width, int height, Map<Identifier, SpriteRegion> regions) {
+        this.texture = texture;
+        this.width = width;
+        this.height = height;
+        this.regions = regions;
+    }
+
+    /**
+     * Stitches the textures of the specified sprites into a new atlas and registers it
+     * to the texture manager. Textures that can't be loaded are logged and left out of
+     * the atlas, so they are drawn from their own texture.
+     *
+     * @param texture The {@code Identifier} the atlas texture is registered with
+     * @param sprites The sprites to stitch
+     * @return The new atlas
+     * @throws IllegalStateException if the atlas is bigger than the maximum texture size
+     */
+    public static SpriteAtlas stitch(Identifier texture, Collection<SimpleSprite> sprites) {
+        RenderSystem.assertOnRenderThread();
+        ResourceManager resourceManager = MinecraftClient.getInstance().getResourceManager();
+        Map<Identifier, NativeImage> images = new LinkedHashMap<>();
+        try {
+            for (SimpleSprite sprite : sprites) {
+                if (!images.containsKey(sprite.texture())) {
+                    try (InputStream stream = resourceManager.getResourceOrThrow(sprite.texture()).getInputStream()) {
+                        images.put(sprite.texture(), NativeImage.read(stream));
+                    } catch (IOException e) {
+                        TelluriumForge.telluriumLogger().warn("Failed to load sprite {} for atlas {}", sprite.texture(), texture, e);
+                    }
+                }
+            }
+
+            Map<Identifier, int[]> placements = new HashMap<>();
+            int[] size = pack(images, placements);
+            int maxSize = RenderSystem.maxSupportedTextureSize();
+            if (size[0] > maxSize || size[1] > maxSize) {
+                throw new IllegalStateException("Atlas " + texture + " is " + size[0] + "x" + size[1]
+                        + ", bigger than the maximum texture size " + maxSize);
+            }
+
+            NativeImage atlasImage = new NativeImage(size[0], size[1], true);
+            Map<Identifier, SpriteRegion> regions = new HashMap<>();
+            images.forEach((id, image) -> {
+                int[] placement = placements.get(id);
+                int x = placement[0];
+                int y = placement[1];
+                image.copyRect(atlasImage, 0, 0, x, y, image.getWidth(), image.getHeight(), false, false);
+                regions.put(id, new SpriteRegion(texture, image.getWidth(), image.getHeight(),
+                        (float) x / size[0], (float) y / size[1],
+                        (float) (x + image.getWidth()) / size[0], (float) (y + image.getHeight()) / size[1]));
+            });
+            MinecraftClient.getInstance().getTextureManager().registerTexture(texture, new NativeImageBackedTexture(atlasImage));
+            return new SpriteAtlas(texture, size[0], size[1], regions);
+        } finally {
+            images.values().forEach(NativeImage::close);
+        }
+    }
+
+    /**
+     * Packs the images in rows, tallest first, into the narrowest power of two width that
+     * keeps the atlas roughly square.
+     *
+     * @param placements Receives the position of each image in the atlas
+     * @return The width and height of the atlas
+     */
+    private static int[] pack(Map<Identifier, NativeImage> images, Map<Identifier, int[]> placements) {
+        long area = 0;
+        int maxWidth = 1;
+        for (NativeImage image : images.values()) {
+            area += (long) image.getWidth() * image.getHeight();
+            maxWidth = Math.max(maxWidth, image.getWidth());
+        }
+        int width = ceilPowerOfTwo(Math.max(maxWidth, (int) Math.ceil(Math.sqrt(area))));
+
+        List<Map.Entry<Identifier, NativeImage>> sorted = new ArrayList<>(images.entrySet());
+        sorted.sort(Comparator.comparingInt((Map.Entry<Identifier, NativeImage> entry) -> entry.getValue().getHeight()).reversed());
+        int x = 0;
+        int y = 0;
+        int rowHeight = 0;
+        for (Map.Entry<Identifier, NativeImage> entry : sorted) {
+            NativeImage image = entry.getValue();
+            if (x + image.getWidth() > width) {
+                x = 0;
+                y += rowHeight;
+                rowHeight = 0;
+            }
+            placements.put(entry.getKey(), new int[]{x, y});
+            x += image.getWidth();
+            rowHeight = Math.max(rowHeight, image.getHeight());
+        }
+        return new int[]{width, ceilPowerOfTwo(Math.max(1, y + rowHeight))};
+    }
+
+    private static int ceilPowerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /**
+     * @return the {@code Identifier} of the atlas texture
+     */
+    public Identifier getTexture() {
+        return texture;
+    }
+
+    /**
+     * @return the width of the atlas texture
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the height of the atlas texture
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Checks if the specified texture was stitched into this atlas.
+     *
+     * @param texture The texture
+     * @return true if the texture is in this atlas, otherwise false
+     */
+    public boolean contains(Identifier texture) {
+        return regions.containsKey(texture);
+    }
+
+    /**
+     * Gets the region of this atlas that holds the specified texture.
+     *
+     * @param texture The texture
+     * @return The region of the texture, or {@code null} if it isn't in this atlas
+     */
+    public SpriteRegion getRegion(Identifier texture) {
+        return regions.get(texture);
+    }
+
+    /**
+     * Gets the region of this atlas that holds the texture of the specified sprite.
+     *
+     * @param sprite The sprite
+     * @return The region of the sprite, or {@code null} if it isn't in this atlas
+     */
+    public SpriteRegion getRegion(SimpleSprite sprite) {
+        return regions.get(sprite.texture());
+    }
+
+    /**
+     * Maps a region of a stitched texture into this atlas. Mapping the regions once
+     * and drawing the mapped regions avoids mapping them on every draw.
+     *
+     * @param region The region
+     * @return The region in this atlas, or the region itself if its texture isn't in this atlas
+     */
+    public SpriteRegion map(SpriteRegion region) {
+        SpriteRegion area = regions.get(region.texture());
+        return area != null ? region.mapInto(area) : region;
+    }
+
+    /**
+     * Releases the atlas texture. The atlas can't be used after it is closed.
+     */
+    public void close() {
+        MinecraftClient.getInstance().getTextureManager().destroyTexture(texture);
+    }
+
+}
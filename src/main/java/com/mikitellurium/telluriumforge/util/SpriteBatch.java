@@ -0,0 +1,215 @@
+package com.mikitellurium.telluriumforge.util;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import it.unimi.dsi.fastutil.floats.FloatArrayList;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.render.BufferBuilder;
+import net.minecraft.client.render.BufferRenderer;
+import net.minecraft.client.render.GameRenderer;
+import net.minecraft.client.render.Tessellator;
+import net.minecraft.client.render.VertexFormat;
+import net.minecraft.client.render.VertexFormats;
+import net.minecraft.util.Identifier;
+import org.joml.Matrix4f;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects {@link SimpleSprite} draws and renders them grouped by texture.
+ * <p>
+ * Drawing many sprites with {@link DrawContext#drawTexture} binds the texture and
+ * builds a buffer for every sprite. A {@code SpriteBatch} only stores the quads when a
+ * sprite is drawn, and {@link #flush(DrawContext)} renders all the quads of each texture
+ * with one buffer and one texture bind:
+ * <pre>{@code
+ * for (Slot slot : slots) {
+ *     batch.draw(SLOT_BACKGROUND, x + slot.x - 1, y + slot.y - 1);
+ * }
+ * batch.draw(PROGRESS_ARROW, x + 79, y + 34, 0, 0, progress, 16);
+ * batch.flush(context);
+ * }</pre>
+ * If the batch uses a {@link SpriteAtlas}, the sprites stitched into the atlas are drawn
+ * from the atlas texture, so they all end up in the same buffer. {@link SpriteRegion}s
+ * store their UV coordinates, so drawing them only copies the cached coordinates.
+ * <p>
+ * All the quads are drawn with the transformation of the context at the time of the flush,
+ * and since they are grouped by texture, sprites of different textures that overlap can
+ * be drawn in a different order than they were added. The batch is meant to be reused
+ * every frame, so the buffers it allocates are kept between flushes.
+ */
+public class SpriteBatch {
+
+    /**
+     * The number of floats stored for each quad: the two corners and the two UV corners.
+     */
+    private static final int QUAD_SIZE = 8;
+
+    private final SpriteAtlas atlas;
+    private final Map<Identifier, FloatArrayList> quads = new LinkedHashMap<>();
+
+    /**
+     * Constructs a new {@code SpriteBatch} that draws every sprite from its own texture.
+     */
+    public SpriteBatch() {
+        this(null);
+    }
+
+    /**
+     * Constructs a new {@code SpriteBatch}.
+     *
+     * @param atlas The atlas used to draw the sprites stitched into it, or {@code null}
+     */
+    public SpriteBatch(SpriteAtlas atlas) {
+        this.atlas = atlas;
+    }
+
+    /**
+     * Draws the whole texture of a sprite.
+     *
+     * @param sprite The sprite
+     * @param x      The X-coordinate of the top-left corner of the sprite on the screen
+     * @param y      The Y-coordinate of the top-left corner of the sprite on the screen
+     */
+    public void draw(SimpleSprite sprite, int x, int y) {
+        this.draw(sprite, x, y, 0, 0, sprite.width(), sprite.height());
+    }
+
+    /**
+     * Draws a region of the texture of a sprite.
+     *
+     * @param sprite The sprite
+     * @param x      The X-coordinate of the top-left corner of the region on the screen
+     * @param y      The Y-coordinate of the top-left corner of the region on the screen
+     * @param u      The X-coordinate of the top-left corner of the region in the texture, in pixels
+     * @param v      The Y-coordinate of the top-left corner of the region in the texture, in pixels
+     * @param width  The width of the region
+     * @param height The height of the region
+     */
+    public void draw(SimpleSprite sprite, int x, int y, int u, int v, int width, int height) {
+        float u1 = (float) u / sprite.width();
+        float v1 = (float) v / sprite.height();
+        float u2 = (float) (u + width) / sprite.width();
+        float v2 = (float) (v + height) / sprite.height();
+        this.draw(sprite.texture(), x, y, x + width, y + height, u1, v1, u2, v2);
+    }
+
+    /**
+     * Draws a quad of a texture.
+     *
+     * @param texture The texture
+     * @param x1      The X-coordinate of the top-left corner of the quad on the screen
+     * @param y1      The Y-coordinate of the top-left corner of the quad on the screen
+     * @param x2      The X-coordinate of the bottom-right corner of the quad on the screen
+     * @param y2      The Y-coordinate of the bottom-right corner of the quad on the screen
+     * @param u1      The normalized X-coordinate of the top-left corner of the quad in the texture
+     * @param v1      The normalized Y-coordinate of the top-left corner of the quad in the texture
+     * @param u2      The normalized X-coordinate of the bottom-right corner of the quad in the texture
+     * @param v2      The normalized Y-coordinate of the bottom-right corner of the quad in the texture
+     */
+    public void draw(Identifier texture, float x1, float y1, float x2, float y2, float u1, float v1, float u2, float v2) {
+        SpriteRegion area = atlas != null ? atlas.getRegion(texture) : null;
+        if (area != null) {
+            // Remap the UVs to the area of the texture in the atlas
+            float areaWidth = area.u2() - area.u1();
+            float areaHeight = area.v2() - area.v1();
+            u1 = area.u1() + u1 * areaWidth;
+            u2 = area.u1() + u2 * areaWidth;
+            v1 = area.v1() + v1 * areaHeight;
+            v2 = area.v1() + v2 * areaHeight;
+            texture = area.texture();
+        }
+        this.addQuad(texture, x1, y1, x2, y2, u1, v1, u2, v2);
+    }
+
+    /**
+     * Draws a sprite region. The cached coordinates of the region are copied as they are,
+     * so regions of textures stitched into the atlas of this batch should be mapped once
+     * with {@link SpriteAtlas#map(SpriteRegion)} to be drawn from the atlas.
+     *
+     * @param region The region
+     * @param x      The X-coordinate of the top-left corner of the region on the screen
+     * @param y      The Y-coordinate of the top-left corner of the region on the screen
+     */
+    public void draw(SpriteRegion region, int x, int y) {
+        this.addQuad(region.texture(), x, y, x + region.width(), y + region.height(),
+                region.u1(), region.v1(), region.u2(), region.v2());
+    }
+
+    /**
+     * Draws the top-left part of a sprite region, which is useful for progress bars.
+     *
+     * @param region The region
+     * @param x      The X-coordinate of the top-left corner of the region on the screen
+     * @param y      The Y-coordinate of the top-left corner of the region on the screen
+     * @param width  The width of the part to draw, at most the width of the region
+     * @param height The height of the part to draw, at most the height of the region
+     */
+    public void draw(SpriteRegion region, int x, int y, int width, int height) {
+        float u2 = region.u1() + (region.u2() - region.u1()) * width / region.width();
+        float v2 = region.v1() + (region.v2() - region.v1()) * height / region.height();
+        this.addQuad(region.texture(), x, y, x + width, y + height, region.u1(), region.v1(), u2, v2);
+    }
+
+    private void addQuad(Identifier texture, float x1, float y1, float x2, float y2, float u1, float v1, float u2, float v2) {
+        FloatArrayList list = quads.computeIfAbsent(texture, id -> new FloatArrayList(QUAD_SIZE * 16));
+        list.add(x1);
+        list.add(y1);
+        list.add(x2);
+        list.add(y2);
+        list.add(u1);
+        list.add(v1);
+        list.add(u2);
+        list.add(v2);
+    }
+
+    /**
+     * Checks if there are quads waiting to be drawn.
+     *
+     * @return true if nothing was drawn since the last flush, otherwise false
+     */
+    public boolean isEmpty() {
+        for (FloatArrayList list : quads.values()) {
+            if (!list.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Renders all the quads drawn since the last flush, with one buffer for each texture.
+     *
+     * @param context The draw context of the screen
+     */
+    public void flush(DrawContext context) {
+        if (this.isEmpty()) {
+            return;
+        }
+        // Draw what the context already buffered first, so it stays below the batch
+        context.draw();
+        Matrix4f matrix = context.getMatrices().peek().getPositionMatrix();
+        RenderSystem.setShader(GameRenderer::getPositionTexProgram);
+        RenderSystem.enableBlend();
+        RenderSystem.defaultBlendFunc();
+        for (Map.Entry<Identifier, FloatArrayList> entry : quads.entrySet()) {
+            FloatArrayList list = entry.getValue();
+            if (list.isEmpty()) {
+                continue;
+            }
+            RenderSystem.setShaderTexture(0, entry.getKey());
+            BufferBuilder buffer = Tessellator.getInstance().begin(VertexFormat.DrawMode.QUADS, VertexFormats.POSITION_TEXTURE);
+            float[] data = list.elements();
+            for (int i = 0, size = list.size(); i < size; i += QUAD_SIZE) {
+                buffer.vertex(matrix, data[i], data[i + 1], 0.0F).texture(data[i + 4], data[i + 5]);
+                buffer.vertex(matrix, data[i], data[i + 3], 0.0F).texture(data[i + 4], data[i + 7]);
+                buffer.vertex(matrix, data[i + 2], data[i + 3], 0.0F).texture(data[i + 6], data[i + 7]);
+                buffer.vertex(matrix, data[i + 2], data[i + 1], 0.0F).texture(data[i + 6], data[i + 5]);
+            }
+            BufferRenderer.drawWithGlobalProgram(buffer.end());
+            list.clear();
+        }
+        RenderSystem.disableBlend();
+    }
+
+}
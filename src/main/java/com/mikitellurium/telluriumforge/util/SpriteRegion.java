@@ -0,0 +1,83 @@
+package com.mikitellurium.telluriumforge.util;
+
+import net.minecraft.util.Identifier;
+
+/**
+ * A region of a texture, with its normalized UV coordinates computed once.
+ * <p>
+ * Regions are made from a {@link SimpleSprite} sheet and drawn with a {@link SpriteBatch},
+ * which copies their coordinates into the buffer without computing them again:
+ * <pre>{@code
+ * SpriteRegion FLAME = SpriteRegion.of(FURNACE_SPRITES, 176, 0, 14, 14);
+ * batch.draw(FLAME, x + 56, y + 36);
+ * }</pre>
+ *
+ * @param texture The texture of the region
+ * @param width   The width of the region, in pixels
+ * @param height  The height of the region, in pixels
+ * @param u1      The normalized X-coordinate of the top-left corner of the region in the texture
+ * @param v1      The normalized Y-coordinate of the top-left corner of the region in the texture
+ * @param u2      The normalized X-coordinate of the bottom-right corner of the region in the texture
+ * @param v2      The normalized Y-coordinate of the bottom-right corner of the region in the texture
+ */
+public record SpriteRegion(Identifier texture, int width, int height, float u1, float v1, float u2, float v2) {
+
+    /**
+     * Creates a region that covers the whole texture of a sprite.
+     *
+     * @param sprite The sprite
+     * @return The region of the sprite
+     */
+    public static SpriteRegion of(SimpleSprite sprite) {
+        return new SpriteRegion(sprite.texture(), sprite.width(), sprite.height(), 0.0F, 0.0F, 1.0F, 1.0F);
+    }
+
+    /**
+     * Creates a region of the texture of a sprite.
+     *
+     * @param sprite The sprite whose texture holds the region
+     * @param u      The X-coordinate of the top-left corner of the region in the texture, in pixels
+     * @param v      The Y-coordinate of the top-left corner of the region in the texture, in pixels
+     * @param width  The width of the region
+     * @param height The height of the region
+     * @return The region of the sprite
+     */
+    public static SpriteRegion of(SimpleSprite sprite, int u, int v, int width, int height) {
+        return new SpriteRegion(sprite.texture(), width, height,
+                (float) u / sprite.width(), (float) v / sprite.height(),
+                (float) (u + width) / sprite.width(), (float) (v + height) / sprite.height());
+    }
+
+    /**
+     * Creates a region inside this region.
+     *
+     * @param u      The X-coordinate of the top-left corner of the sub-region, in pixels from the left of this region
+     * @param v      The Y-coordinate of the top-left corner of the sub-region, in pixels from the top of this region
+     * @param width  The width of the sub-region
+     * @param height The height of the sub-region
+     * @return The sub-region
+     */
+    public SpriteRegion region(int u, int v, int width, int height) {
+        float pixelU = (u2 - u1) / this.width;
+        float pixelV = (v2 - v1) / this.height;
+        return new SpriteRegion(texture, width, height,
+                u1 + u * pixelU, v1 + v * pixelV,
+                u1 + (u + width) * pixelU, v1 + (v + height) * pixelV);
+    }
+
+    /**
+     * Maps this region into an area of another texture, such as the area where
+     * its texture was stitched into a {@link SpriteAtlas}.
+     *
+     * @param area The area that holds the whole texture of this region
+     * @return The region in the texture of the area
+     */
+    public SpriteRegion mapInto(SpriteRegion area) {
+        float areaWidth = area.u2 - area.u1;
+        float areaHeight = area.v2 - area.v1;
+        return new SpriteRegion(area.texture, width, height,
+                area.u1 + u1 * areaWidth, area.v1 + v1 * areaHeight,
+                area.u1 + u2 * areaWidth, area.v1 + v2 * areaHeight);
+    }
+
+}
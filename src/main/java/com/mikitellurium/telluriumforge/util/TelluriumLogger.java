@@ -0,0 +1,274 @@
+package com.mikitellurium.telluriumforge.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * A logging facade over an SLF4J {@link Logger}, for TelluriumForge and the mods that use it.
+ * <p>
+ * Messages use the SLF4J {@code {}} placeholders and are only formatted when their level is
+ * enabled, or can be built by a supplier that is only called when the level is enabled:
+ * <pre>{@code
+ * private static final TelluriumLogger LOGGER = TelluriumLogger.of(MOD_ID);
+ *
+ * LOGGER.warn("Unknown entry {} at line {}", key, line);
+ * LOGGER.debug(() -> "Network state: " + network.describe());
+ * LOGGER.diagnostic(Level.DEBUG, "Pushed {} items from {}", count, pos.toShortString());
+ * }</pre>
+ * Diagnostic messages are meant for hot paths such as block entity ticks: they are stored
+ * in a shared bounded ring buffer and formatted and written by a background thread, so the
+ * calling thread never waits for the log I/O. If the buffer is full the message is dropped
+ * and the number of dropped messages is logged later. Since they are formatted later, the
+ * arguments of diagnostic messages should be immutable.
+ */
+public final class TelluriumLogger {
+
+    /**
+     * The number of diagnostic messages that can wait to be written.
+     */
+    private static final int BUFFER_CAPACITY = 8192;
+    private static final long DRAIN_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private static final RingBuffer BUFFER = new RingBuffer(BUFFER_CAPACITY);
+    private static final AtomicLong DROPPED = new AtomicLong();
+    private static volatile Thread drainer;
+
+    private final Logger logger;
+
+    private TelluriumLogger(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Creates a logger with the specified name.
+     *
+     * @param name The name of the logger, usually the mod id
+     * @return The logger
+     */
+    public static TelluriumLogger of(String name) {
+        return new TelluriumLogger(LoggerFactory.getLogger(name));
+    }
+
+    /**
+     * Wraps an SLF4J logger.
+     *
+     * @param logger The logger to wrap
+     * @return The wrapping logger
+     */
+    public static TelluriumLogger of(Logger logger) {
+        return new TelluriumLogger(logger);
+    }
+
+    /**
+     * @return the SLF4J logger wrapped by this logger
+     */
+    public Logger slf4j() {
+        return logger;
+    }
+
+    /**
+     * Checks if messages of the specified level are logged.
+     *
+     * @param level The level
+     * @return true if messages of the level are logged, otherwise false
+     */
+    public boolean isEnabled(Level level) {
+        return logger.isEnabledForLevel(level);
+    }
+
+    /**
+     * Logs a debug message.
+     *
+     * @param format The message, with a {@code {}} placeholder for each argument
+     * @param args   The arguments, the last one can be a {@code Throwable}
+     */
+    public void debug(String format, Object... args) {
+        logger.debug(format, args);
+    }
+
+    /**
+     * Logs a debug message built only if debug messages are logged.
+     *
+     * @param message Builds the message
+     */
+    public void debug(Supplier<String> message) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(message.get());
+        }
+    }
+
+    /**
+     * Logs an info message.
+     *
+     * @param format The message, with a {@code {}} placeholder for each argument
+     * @param args   The arguments, the last one can be a {@code Throwable}
+     */
+    public void info(String format, Object... args) {
+        logger.info(format, args);
+    }
+
+    /**
+     * Logs a warning.
+     *
+     * @param format The message, with a {@code {}} placeholder for each argument
+     * @param args   The arguments, the last one can be a {@code Throwable}
+     */
+    public void warn(String format, Object... args) {
+        logger.warn(format, args);
+    }
+
+    /**
+     * Logs an error.
+     *
+     * @param format The message, with a {@code {}} placeholder for each argument
+     * @param args   The arguments, the last one can be a {@code Throwable}
+     */
+    public void error(String format, Object... args) {
+        logger.error(format, args);
+    }
+
+    /**
+     * Logs an error with the stack trace of the exception that caused it.
+     *
+     * @param message   The message
+     * @param throwable The exception
+     */
+    public void error(String message, Throwable throwable) {
+        logger.error(message, throwable);
+    }
+
+    /**
+     * Queues a diagnostic message to be formatted and logged by the background thread.
+     * This never blocks: if too many messages are waiting the message is dropped.
+     *
+     * @param level  The level of the message
+     * @param format The message, with a {@code {}} placeholder for each argument
+     * @param args   The arguments, which should be immutable
+     */
+    public void diagnostic(Level level, String format, Object... args) {
+        if (!logger.isEnabledForLevel(level)) {
+            return;
+        }
+        if (BUFFER.offer(new Diagnostic(logger, level, format, args))) {
+            startDrainer();
+        } else {
+            DROPPED.incrementAndGet();
+        }
+    }
+
+    private static void startDrainer() {
+        if (drainer == null) {
+            synchronized (TelluriumLogger.class) {
+                if (drainer == null) {
+                    Thread thread = new Thread(TelluriumLogger::drainLoop, "TelluriumForge Log Drainer");
+                    thread.setDaemon(true);
+                    thread.start();
+                    Runtime.getRuntime().addShutdownHook(new Thread(TelluriumLogger::drain, "TelluriumForge Log Flush"));
+                    drainer = thread;
+                }
+            }
+        }
+    }
+
+    private static void drainLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            if (!drain()) {
+                LockSupport.parkNanos(DRAIN_INTERVAL_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Writes all the queued diagnostic messages.
+     *
+     * @return true if any message was written
+     */
+    private static synchronized boolean drain() {
+        boolean drained = false;
+        Diagnostic diagnostic;
+        while ((diagnostic = BUFFER.poll()) != null) {
+            drained = true;
+            try {
+                diagnostic.logger().atLevel(diagnostic.level()).log(diagnostic.format(), diagnostic.args());
+            } catch (RuntimeException e) {
+                // An argument failed to format, don't let it stop the drainer
+                diagnostic.logger().error("Failed to log diagnostic message \"{}\"", diagnostic.format(), e);
+            }
+        }
+        long dropped = DROPPED.getAndSet(0);
+        if (dropped > 0) {
+            LoggerFactory.getLogger(TelluriumLogger.class).warn("Dropped {} diagnostic messages, the log buffer was full", dropped);
+        }
+        return drained;
+    }
+
+    private record Diagnostic(Logger logger, Level level, String format, Object[] args) {}
+
+    /**
+     * A bounded lock-free queue with many producers and a single consumer. Each slot
+     * has a sequence number that tells producers and the consumer if the slot is free
+     * for the current lap of the ring.
+     */
+    private static final class RingBuffer {
+
+        private final int mask;
+        private final AtomicLongArray sequences;
+        private final Diagnostic[] slots;
+        private final AtomicLong head = new AtomicLong();
+        private long tail = 0L;
+
+        private RingBuffer(int capacity) {
+            this.mask = capacity - 1;
+            this.sequences = new AtomicLongArray(capacity);
+            this.slots = new Diagnostic[capacity];
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+        }
+
+        private boolean offer(Diagnostic diagnostic) {
+            long position = head.get();
+            while (true) {
+                int index = (int) (position & mask);
+                long difference = sequences.get(index) - position;
+                if (difference == 0) {
+                    if (head.compareAndSet(position, position + 1)) {
+                        slots[index] = diagnostic;
+                        sequences.lazySet(index, position + 1);
+                        return true;
+                    }
+                    position = head.get();
+                } else if (difference < 0) {
+                    // The slot still holds a message of the previous lap, the buffer is full
+                    return false;
+                } else {
+                    position = head.get();
+                }
+            }
+        }
+
+        /**
+         * Only called by the drainer, while holding the {@code TelluriumLogger} lock.
+         */
+        private Diagnostic poll() {
+            int index = (int) (tail & mask);
+            if (sequences.get(index) != tail + 1) {
+                return null;
+            }
+            Diagnostic diagnostic = slots[index];
+            slots[index] = null;
+            sequences.lazySet(index, tail + mask + 1);
+            tail++;
+            return diagnostic;
+        }
+
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.mikitellurium.telluriumforge.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A memoization cache whose values are only valid for the current server tick.
+ * <p>
+ * Block entities that compute the same derived data in the same tick, like scanning the
+ * nearby blocks or matching a recipe, can share the result through a {@code TickMemo}
+ * instead of computing it again:
+ * <pre>{@code
+ * private static final TickMemo<BlockPos, List<BlockPos>> NEARBY_CHESTS = new TickMemo<>();
+ *
+ * List<BlockPos> chests = NEARBY_CHESTS.get(pos.toImmutable(), p -> scanChests(world, p));
+ * }</pre>
+ * Values are tagged with the tick generation they were computed in. The generation is
+ * increased at the start of every server tick, which invalidates all the values of every
+ * {@code TickMemo} at once, so a value is never reused in a later tick.
+ * <p>
+ * This class is not thread safe and should only be used from the server thread.
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the memoized values
+ */
+public class TickMemo<K, V> {
+
+    /**
+     * The number of entries after which stale entries are removed.
+     */
+    private static final int DEFAULT_PURGE_THRESHOLD = 256;
+
+    private static int generation = 0;
+
+    private final Map<K, Entry<V>> entries = new HashMap<>();
+    private final int purgeThreshold;
+    private int purgeGeneration = -1;
+
+    /**
+     * Constructs a new {@code TickMemo}.
+     */
+    public TickMemo() {
+        this(DEFAULT_PURGE_THRESHOLD);
+    }
+
+    /**
+     * Constructs a new {@code TickMemo}.
+     *
+     * @param purgeThreshold The number of entries after which the entries of previous ticks are removed
+     */
+    public TickMemo(int purgeThreshold) {
+        this.purgeThreshold = purgeThreshold;
+    }
+
+    /**
+     * Starts a new tick generation, invalidating the values of every {@code TickMemo}.
+     * <p>
+     * This is called by TelluriumForge at the start of every server tick.
+     */
+    public static void nextTick() {
+        generation++;
+    }
+
+    /**
+     * Gets the value of the specified key for the current tick, computing
+     * it if it wasn't computed yet during this tick.
+     *
+     * @param key     The key
+     * @param compute Computes the value of the key
+     * @return The value of the key for the current tick
+     */
+    public V get(K key, Function<K, V> compute) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.generation == generation) {
+            return entry.value;
+        }
+
+        V value = compute.apply(key);
+        if (entry != null) {
+            entry.generation = generation;
+            entry.value = value;
+        } else {
+            purgeIfNeeded();
+            entries.put(key, new Entry<>(generation, value));
+        }
+        return value;
+    }
+
+    /**
+     * Removes the entries of previous ticks, at most once per tick and
+     * only when the memo holds more entries than the purge threshold.
+     */
+    private void purgeIfNeeded() {
+        if (entries.size() >= purgeThreshold && purgeGeneration != generation) {
+            purgeGeneration = generation;
+            entries.values().removeIf(entry -> entry.generation != generation);
+        }
+    }
+
+    private static final class Entry<V> {
+
+        private int generation;
+        private V value;
+
+        private Entry(int generation, V value) {
+            this.generation = generation;
+            this.value = value;
+        }
+
+    }
+
+}